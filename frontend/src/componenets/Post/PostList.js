@@ -397,7 +397,7 @@ const PostList = () => {
                   <p className="post-description">{post.description}</p>
                   {post.image1 && (
                     <img
-                      src={`data:image/jpeg;base64,${post.image1}`}
+                      src={post.image1}
                       alt="Post"
                       className="post-image"
                       onError={(e) => (e.target.style.display = 'none')}
@@ -2,8 +2,10 @@ package com.example.skill_sharing_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SkillSharingBackendApplication {
 
 	public static void main(String[] args) {
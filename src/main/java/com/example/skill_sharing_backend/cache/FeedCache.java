@@ -0,0 +1,117 @@
+package com.example.skill_sharing_backend.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.skill_sharing_backend.dto.PostFeedItem;
+import com.example.skill_sharing_backend.event.PostChangedEvent;
+import com.example.skill_sharing_backend.event.PostCountsChangedEvent;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Bounded, short-lived cache of feed pages keyed by cursor and page size.
+ * Pages hold PostFeedItem rows, not rendered JSON, so media URLs and viewer
+ * state are still resolved per request. Post events patch or drop only the
+ * pages that contain the post; keyset cursors of other pages stay valid.
+ * Anything missed, such as a page loaded while an event was handled, ages out
+ * with the TTL.
+ * Hit, miss and eviction counts are published as cache.* metrics tagged
+ * cache=feedPages.
+ */
+@Component
+public class FeedCache {
+    private static final Logger logger = LoggerFactory.getLogger(FeedCache.class);
+    private static final String ALL_POSTS = "all";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${feed.cache.max-entries:500}")
+    private long maxEntries;
+
+    @Value("${feed.cache.ttl:30s}")
+    private Duration ttl;
+
+    private Cache<Key, CursorPage<PostFeedItem>> pages;
+
+    @PostConstruct
+    public void init() {
+        pages = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "feedPages");
+    }
+
+    public CursorPage<PostFeedItem> getPage(String cursor, int size, Supplier<CursorPage<PostFeedItem>> loader) {
+        return pages.get(new Key(cursor == null || cursor.isBlank() ? null : cursor, size), key -> loader.get());
+    }
+
+    public List<PostFeedItem> getAllPosts(Supplier<List<PostFeedItem>> loader) {
+        return pages.get(new Key(ALL_POSTS, 0), key -> new CursorPage<>(List.copyOf(loader.get()), null)).getItems();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.type() == PostChangedEvent.Type.CREATED) {
+            // A new post is newest, so it can only land on head pages and the full list
+            pages.asMap().keySet().removeIf(Key::isHead);
+        } else {
+            pages.asMap().entrySet().removeIf(entry -> contains(entry.getValue(), event.postId()));
+        }
+        logger.debug("Feed cache updated for post {} ({})", event.postId(), event.type());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountsChanged(PostCountsChangedEvent event) {
+        for (Key key : pages.asMap().keySet()) {
+            pages.asMap().computeIfPresent(key, (k, page) -> patchCounts(page, event));
+        }
+    }
+
+    private static CursorPage<PostFeedItem> patchCounts(CursorPage<PostFeedItem> page, PostCountsChangedEvent event) {
+        if (!contains(page, event.postId())) {
+            return page;
+        }
+        List<PostFeedItem> items = new ArrayList<>(page.getItems().size());
+        for (PostFeedItem item : page.getItems()) {
+            items.add(!item.id().equals(event.postId()) ? item : item.withCounts(
+                (int) Math.max(0, item.likeCount() + event.likeDelta()),
+                (int) Math.max(0, item.favoriteCount() + event.favoriteDelta()),
+                (int) Math.max(0, item.shareCount() + event.shareDelta())));
+        }
+        return new CursorPage<>(List.copyOf(items), page.getNextCursor());
+    }
+
+    private static boolean contains(CursorPage<PostFeedItem> page, Long postId) {
+        for (PostFeedItem item : page.getItems()) {
+            if (Objects.equals(item.id(), postId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Key(String cursor, int size) {
+        boolean isHead() {
+            return cursor == null || ALL_POSTS.equals(cursor);
+        }
+    }
+}
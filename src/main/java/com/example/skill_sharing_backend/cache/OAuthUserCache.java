@@ -0,0 +1,65 @@
+package com.example.skill_sharing_backend.cache;
+
+import java.time.Duration;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.skill_sharing_backend.model.RegistrationSource;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * OAuth principals (keyed by subject, or email when there is none) resolved
+ * to their local user. profileHash covers the name and picture the provider
+ * last sent, so an unchanged login is recognised without touching the
+ * database. Follower counts are not cached; they come from the graph index.
+ */
+@Component
+public class OAuthUserCache {
+
+    public record Entry(Long id, String name, String email, String profileImage, RegistrationSource source,
+                        int profileHash) {
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.oauth-user-cache.max-entries:50000}")
+    private long maxEntries;
+
+    @Value("${auth.oauth-user-cache.ttl:5m}")
+    private Duration ttl;
+
+    private Cache<String, Entry> entries;
+
+    @PostConstruct
+    public void init() {
+        entries = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "oauthUsers");
+    }
+
+    public Entry getIfPresent(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    // Atomic per key, so concurrent first requests of one principal resolve it once
+    public Entry compute(String key, UnaryOperator<Entry> resolver) {
+        return entries.asMap().compute(key, (k, current) -> resolver.apply(current));
+    }
+
+    // Profile edits are rare, so a scan is fine here
+    public void evictUser(Long userId) {
+        entries.asMap().values().removeIf(entry -> entry.id().equals(userId));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.skill_sharing_backend.cache;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.skill_sharing_backend.event.UnreadCountChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Unread notification counts per user. A count is loaded from the database on
+ * first use and then moved by UnreadCountChangedEvent deltas from create,
+ * read, mark-all and delete. Deltas for users not in the cache are ignored;
+ * their count is read fresh on next use. A delta that races a load can leave
+ * a count off by one, so entries are reloaded notifications.unread.ttl after
+ * they were loaded; deltas do not push that deadline back.
+ */
+@Component
+public class UnreadCountCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${notifications.unread.max-users:100000}")
+    private long maxUsers;
+
+    @Value("${notifications.unread.ttl:10m}")
+    private Duration ttl;
+
+    private Cache<Long, Long> counts;
+
+    @PostConstruct
+    public void init() {
+        counts = Caffeine.newBuilder()
+            .maximumSize(maxUsers)
+            .expireAfter(new Expiry<Long, Long>() {
+                @Override
+                public long expireAfterCreate(Long userId, Long count, long currentTime) {
+                    return ttl.toNanos();
+                }
+
+                // A delta is an update; keeping the remaining time means a busy user is still reloaded on schedule
+                @Override
+                public long expireAfterUpdate(Long userId, Long count, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(Long userId, Long count, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "unreadNotifications");
+    }
+
+    public long get(Long userId, Function<Long, Long> loader) {
+        return counts.get(userId, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        counts.asMap().computeIfPresent(event.userId(), (userId, count) -> Math.max(0, count + event.delta()));
+    }
+}
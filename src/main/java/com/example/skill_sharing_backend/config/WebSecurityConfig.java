@@ -2,49 +2,120 @@ package com.example.skill_sharing_backend.config;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.example.skill_sharing_backend.dto.UserDTO;
+import com.example.skill_sharing_backend.security.AccessTokenFilter;
+import com.example.skill_sharing_backend.security.AccessTokenService;
+import com.example.skill_sharing_backend.security.SignedCookieAuthorizationRequestRepository;
+import com.example.skill_sharing_backend.service.UserService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig {
 
+    @Value("${auth.stateless.enabled:false}")
+    private boolean stateless;
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AccessTokenService accessTokenService,
+                                                   ObjectProvider<UserService> userService) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
-            .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
-                .requestMatchers("/oauth2/**", "/login/oauth2/code/**").permitAll()
-                .anyRequest().authenticated())
-            .oauth2Login(oauth -> oauth
-                .loginPage("/oauth2/authorization/google")
-                .defaultSuccessUrl("http://localhost:3000/posts", true)
-                .permitAll())
-            .formLogin(form -> form
-                .loginProcessingUrl("/api/auth/login")
-                .usernameParameter("email")
-                .passwordParameter("password")
-                .defaultSuccessUrl("http://localhost:3000/posts", true)
-                .permitAll())
+            .authorizeHttpRequests(auth -> {
+                auth
+                    .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
+                    .requestMatchers("/oauth2/**", "/login/oauth2/code/**").permitAll();
+                if (stateless) {
+                    // <img> and <video> tags cannot send a bearer token, so media URLs are signed instead
+                    auth.requestMatchers(HttpMethod.GET, "/api/posts/*/media/*").access(AuthorizationManagers.anyOf(
+                        AuthenticatedAuthorizationManager.authenticated(), signedMediaUrl(accessTokenService)));
+                }
+                auth.anyRequest().authenticated();
+            })
             .logout(logout -> logout
                 .logoutUrl("/api/auth/logout")
                 .logoutSuccessHandler((request, response, authentication) -> {
                     response.setStatus(200);
                 })
                 .permitAll());
+
+        if (stateless) {
+            // Signed bearer tokens instead of sessions, so any node can serve any request
+            http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new AccessTokenFilter(accessTokenService), UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(exceptions -> exceptions
+                    .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .oauth2Login(oauth -> oauth
+                    .loginPage("/oauth2/authorization/google")
+                    .authorizationEndpoint(endpoint -> endpoint
+                        .authorizationRequestRepository(new SignedCookieAuthorizationRequestRepository(accessTokenService)))
+                    .successHandler((request, response, authentication) -> {
+                        OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
+                        String subject = oauth2User.getAttribute("sub");
+                        UserDTO user = userService.getObject().resolveOAuthUser(
+                            subject != null ? subject : oauth2User.getName(),
+                            oauth2User.getAttribute("email"),
+                            oauth2User.getAttribute("name"),
+                            oauth2User.getAttribute("picture"));
+                        // A fragment never reaches server logs or the Referer header
+                        response.sendRedirect("http://localhost:3000/posts#access_token="
+                            + accessTokenService.issue(user.getId(), user.getEmail()));
+                    })
+                    .permitAll())
+                // The login endpoint in AuthController checks the password and issues the token
+                .formLogin(form -> form.disable());
+        } else {
+            http
+                .oauth2Login(oauth -> oauth
+                    .loginPage("/oauth2/authorization/google")
+                    .defaultSuccessUrl("http://localhost:3000/posts", true)
+                    .permitAll())
+                .formLogin(form -> form
+                    .loginProcessingUrl("/api/auth/login")
+                    .usernameParameter("email")
+                    .passwordParameter("password")
+                    .defaultSuccessUrl("http://localhost:3000/posts", true)
+                    .permitAll());
+        }
         return http.build();
     }
 
+    private static AuthorizationManager<RequestAuthorizationContext> signedMediaUrl(AccessTokenService accessTokenService) {
+        return (authentication, context) -> {
+            HttpServletRequest request = context.getRequest();
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            return new AuthorizationDecision(accessTokenService.verifyMediaPath(
+                path, request.getParameter("expires"), request.getParameter("sig")));
+        };
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -73,8 +144,9 @@ public class WebSecurityConfig {
         return source;
     }
 
+    // Raising the strength upgrades stored hashes as their owners sign in
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.example.skill_sharing_backend.controller;
 
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,8 +15,9 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.example.skill_sharing_backend.dto.EmailLoginDTO;
 import com.example.skill_sharing_backend.dto.UserDTO;
-import com.example.skill_sharing_backend.model.RegistrationSource;
 import com.example.skill_sharing_backend.model.User;
+import com.example.skill_sharing_backend.security.AccessTokenService;
+import com.example.skill_sharing_backend.security.AccessTokenService.TokenPrincipal;
 import com.example.skill_sharing_backend.service.UserService;
 
 @RestController
@@ -22,6 +26,9 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AccessTokenService accessTokenService;
+
     @GetMapping("/api/user")
     public ResponseEntity<UserDTO> getUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -30,34 +37,24 @@ public class AuthController {
         }
 
         Object principal = authentication.getPrincipal();
-        User user = null;
+        if (principal instanceof OAuth2User oauth2User) {
+            // Google OAuth2 user: resolved from memory unless the profile changed or the entry expired
+            String subject = oauth2User.getAttribute("sub");
+            UserDTO dto = userService.resolveOAuthUser(
+                subject != null ? subject : oauth2User.getName(),
+                oauth2User.getAttribute("email"),
+                oauth2User.getAttribute("name"),
+                oauth2User.getAttribute("picture"));
+            return ResponseEntity.ok(dto);
+        }
 
-        if (principal instanceof OAuth2User) {
-            // Handle Google OAuth2 user
-            OAuth2User oauth2User = (OAuth2User) principal;
-            String email = oauth2User.getAttribute("email");
-            user = userService.findByEmail(email);
-            
-            if (user != null) {
-                // Update existing user's information
-                user.setName(oauth2User.getAttribute("name"));
-                user.setProfileImage(oauth2User.getAttribute("picture"));
-                ResponseEntity<User> updateResponse = userService.updateUser(user);
-                user = updateResponse.getBody();
-            } else {
-                // Create new user if doesn't exist
-                User newUser = new User();
-                newUser.setName(oauth2User.getAttribute("name"));
-                newUser.setEmail(email);
-                newUser.setProfileImage(oauth2User.getAttribute("picture"));
-                newUser.setSource(RegistrationSource.GOOGLE);
-                newUser.setPassword(""); // Empty password for Google users
-                ResponseEntity<User> createResponse = userService.createUser(newUser);
-                user = createResponse.getBody();
-            }
-        } else if (principal instanceof User) {
+        User user = null;
+        if (principal instanceof User) {
             // Handle manual login user
             user = (User) principal;
+        } else if (principal instanceof TokenPrincipal tokenPrincipal) {
+            // Stateless mode: the bearer token only carries the id
+            user = userService.getUserById(tokenPrincipal.userId());
         }
 
         if (user == null) {
@@ -78,11 +75,40 @@ public class AuthController {
 
     @PostMapping("/api/auth/login")
     public ResponseEntity<?> login(@RequestBody EmailLoginDTO loginDTO) {
-        return userService.login(loginDTO);
+        return withAccessToken(userService.login(loginDTO));
     }
 
     @PostMapping("/api/auth/register")
     public ResponseEntity<?> register(@RequestBody EmailLoginDTO registerDTO) {
-        return userService.register(registerDTO);
+        return withAccessToken(userService.register(registerDTO));
+    }
+
+    // Stateless mode: swaps a still-valid bearer token for a fresh one; an expired token means signing in again
+    @PostMapping("/api/auth/refresh")
+    public ResponseEntity<?> refresh() {
+        if (!accessTokenService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof TokenPrincipal principal)) {
+            return ResponseEntity.status(401).build();
+        }
+        String token = accessTokenService.refresh(principal);
+        if (token == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "Session expired, please sign in again"));
+        }
+        return ResponseEntity.ok()
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+            .body(Map.of("expiresIn", accessTokenService.getTtl().toSeconds()));
+    }
+
+    // In stateless mode a successful login or registration also returns a bearer token
+    private ResponseEntity<?> withAccessToken(ResponseEntity<?> result) {
+        if (!accessTokenService.isEnabled() || !(result.getBody() instanceof UserDTO user)) {
+            return result;
+        }
+        return ResponseEntity.status(result.getStatusCode())
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessTokenService.issue(user.getId(), user.getEmail()))
+            .body(user);
     }
 }
\ No newline at end of file
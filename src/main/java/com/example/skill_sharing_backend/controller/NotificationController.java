@@ -1,11 +1,13 @@
 package com.example.skill_sharing_backend.controller;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,9 +15,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.example.skill_sharing_backend.model.Notification;
+import com.example.skill_sharing_backend.model.NotificationType;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.example.skill_sharing_backend.repository.NotificationSummary;
 import com.example.skill_sharing_backend.service.NotificationService;
 
 @RestController
@@ -27,29 +33,40 @@ public class NotificationController {
     private NotificationService notificationService;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<?> getNotifications(@PathVariable Long userId) {
-        try {
-            List<Notification> notifications = notificationService.getNotificationsForUser(userId);
-            List<Map<String, Object>> notificationDtos = notifications.stream()
-                .map(notification -> {
-                    Map<String, Object> notificationMap = new HashMap<>();
-                    notificationMap.put("id", notification.getId());
-                    notificationMap.put("commenterId", notification.getCommenter().getId());
-                    notificationMap.put("commenterName", notification.getCommenter().getName());
-                    notificationMap.put("commenterImage", notification.getCommenter().getProfileImage());
-                    notificationMap.put("postId", notification.getPost().getId());
-                    notificationMap.put("createdAt", notification.getCreatedAt());
-                    notificationMap.put("read", notification.isRead());
-                    return notificationMap;
-                })
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(notificationDtos);
-        } catch (Exception e) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Failed to fetch notifications: " + e.getMessage());
-            return ResponseEntity.internalServerError().body(errorResponse);
-        }
+    public ResponseEntity<?> getNotifications(
+            @PathVariable Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(value = "unread", defaultValue = "false") boolean unreadOnly) {
+        CursorPage<NotificationSummary> page = notificationService.getNotifications(userId, cursor, size, unreadOnly);
+        List<Map<String, Object>> notifications = page.getItems().stream()
+            .map(this::toNotificationMap)
+            .collect(Collectors.toList());
+        Map<String, Object> response = new HashMap<>();
+        response.put("notifications", notifications);
+        response.put("nextCursor", page.getNextCursor());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{userId}/unread-count")
+    public ResponseEntity<?> getUnreadCount(@PathVariable Long userId) {
+        return ResponseEntity.ok(Map.of("count", notificationService.getUnreadCount(userId)));
+    }
+
+    @PostMapping("/{userId}/read-all")
+    public ResponseEntity<?> markAllAsRead(@PathVariable Long userId) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAllAsRead(userId)));
+    }
+
+    @DeleteMapping("/{userId}/read")
+    public ResponseEntity<?> deleteRead(@PathVariable Long userId) {
+        return ResponseEntity.ok(Map.of("deleted", notificationService.deleteRead(userId)));
+    }
+
+    // Server-Sent Events: "unread" carries the initial count and later deltas, "notification" each new notification
+    @GetMapping(path = "/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@PathVariable Long userId) {
+        return notificationService.subscribe(userId);
     }
 
     @PostMapping("/{notificationId}/read")
@@ -75,4 +92,30 @@ public class NotificationController {
             return ResponseEntity.internalServerError().body(errorResponse);
         }
     }
-} 
\ No newline at end of file
+
+    private Map<String, Object> toNotificationMap(NotificationSummary notification) {
+        Map<String, Object> notificationMap = new HashMap<>();
+        notificationMap.put("id", notification.getId());
+        notificationMap.put("type", notification.getType() == null ? NotificationType.COMMENT : notification.getType());
+        notificationMap.put("commenterId", notification.getActorId());
+        notificationMap.put("commenterName", notification.getActorName());
+        notificationMap.put("commenterImage", notification.getActorImage());
+        notificationMap.put("actorCount", notification.getActorCount() == null ? 1 : notification.getActorCount());
+        notificationMap.put("actorIds", actorIds(notification));
+        notificationMap.put("postId", notification.getPostId());
+        notificationMap.put("postTitle", notification.getPostTitle());
+        notificationMap.put("commentId", notification.getCommentId());
+        notificationMap.put("createdAt", notification.getCreatedAt());
+        notificationMap.put("read", Boolean.TRUE.equals(notification.getRead()));
+        return notificationMap;
+    }
+
+    // Newest first; rows written before coalescing only know the single actor
+    private List<Long> actorIds(NotificationSummary notification) {
+        String sample = notification.getActorSample();
+        if (sample == null || sample.isBlank()) {
+            return notification.getActorId() == null ? List.of() : List.of(notification.getActorId());
+        }
+        return Arrays.stream(sample.split(",")).map(Long::valueOf).collect(Collectors.toList());
+    }
+}
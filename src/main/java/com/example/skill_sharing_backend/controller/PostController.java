@@ -1,7 +1,6 @@
 package com.example.skill_sharing_backend.controller;
 
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,113 +20,47 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import com.example.skill_sharing_backend.dto.InteractionFlags;
 import com.example.skill_sharing_backend.dto.PostDTO;
+import com.example.skill_sharing_backend.dto.PostFeedDetails;
+import com.example.skill_sharing_backend.dto.PostFeedItem;
+import com.example.skill_sharing_backend.exception.MediaRejectedException;
 import com.example.skill_sharing_backend.model.Post;
-import com.example.skill_sharing_backend.model.User;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.example.skill_sharing_backend.security.AccessTokenService;
 import com.example.skill_sharing_backend.service.PostService;
+import com.example.skill_sharing_backend.service.RenditionService;
+import com.example.skill_sharing_backend.service.TimelineService;
 
 @RestController
 @RequestMapping("/api/posts")
 public class PostController {
     private static final Logger logger = LoggerFactory.getLogger(PostController.class);
 
+    // Width the feed cards are laid out at when the client does not say otherwise
+    private static final int DEFAULT_DISPLAY_WIDTH = 640;
+
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private RenditionService renditionService;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private AccessTokenService accessTokenService;
+
     @GetMapping
-    public ResponseEntity<?> getAllPosts() {
+    public ResponseEntity<?> getAllPosts(
+            @RequestParam(value = "width", defaultValue = "" + DEFAULT_DISPLAY_WIDTH) int width) {
         try {
-            List<Post> posts = postService.getAllPosts();
-            List<Map<String, Object>> dtos = new ArrayList<>();
-            
-            for (Post post : posts) {
-                try {
-                    Map<String, Object> dto = new HashMap<>();
-                    dto.put("id", post.getId());
-                    dto.put("title", post.getTitle());
-                    dto.put("description", post.getDescription());
-                    dto.put("createdAt", post.getCreatedAt());
-                    dto.put("likeCount", post.getLikeCount());
-                    dto.put("favoriteCount", post.getFavoriteCount());
-                    dto.put("shareCount", post.getShareCount());
-                    
-                    // Handle images and video safely
-                    try {
-                        if (post.getImage1() != null) {
-                            dto.put("image1", Base64.getEncoder().encodeToString(post.getImage1()));
-                        }
-                    } catch (Exception e) {
-                        logger.warn("Error encoding image1 for post {}: {}", post.getId(), e.getMessage());
-                    }
-                    
-                    try {
-                        if (post.getImage2() != null) {
-                            dto.put("image2", Base64.getEncoder().encodeToString(post.getImage2()));
-                        }
-                    } catch (Exception e) {
-                        logger.warn("Error encoding image2 for post {}: {}", post.getId(), e.getMessage());
-                    }
-                    
-                    try {
-                        if (post.getImage3() != null) {
-                            dto.put("image3", Base64.getEncoder().encodeToString(post.getImage3()));
-                        }
-                    } catch (Exception e) {
-                        logger.warn("Error encoding image3 for post {}: {}", post.getId(), e.getMessage());
-                    }
-                    
-                    try {
-                        if (post.getVideo() != null) {
-                            dto.put("video", Base64.getEncoder().encodeToString(post.getVideo()));
-                        }
-                    } catch (Exception e) {
-                        logger.warn("Error encoding video for post {}: {}", post.getId(), e.getMessage());
-                    }
-                    
-                    // Create user object in the format expected by frontend
-                    User user = post.getUser();
-                    if (user != null) {
-                        Map<String, Object> userMap = new HashMap<>();
-                        userMap.put("id", user.getId());
-                        userMap.put("name", user.getName());
-                        userMap.put("profileImage", user.getProfileImage());
-                        dto.put("user", userMap);
-                    } else {
-                        logger.warn("Post {} has no associated user", post.getId());
-                        continue; // Skip posts without users
-                    }
-                    
-                    // Add interaction lists
-                    dto.put("likedBy", post.getLikedBy().stream().map(User::getId).collect(java.util.stream.Collectors.toList()));
-                    dto.put("favoritedBy", post.getFavoritedBy().stream().map(User::getId).collect(java.util.stream.Collectors.toList()));
-                    dto.put("sharedBy", post.getSharedBy().stream().map(User::getId).collect(java.util.stream.Collectors.toList()));
-                    
-                    // Add comments
-                    dto.put("comments", post.getComments().stream().map(comment -> {
-                        Map<String, Object> commentMap = new HashMap<>();
-                        commentMap.put("id", comment.getId());
-                        commentMap.put("content", comment.getContent());
-                        commentMap.put("createdAt", comment.getCreatedAt());
-                        commentMap.put("userId", comment.getUser().getId());
-                        commentMap.put("userName", comment.getUser().getName());
-                        commentMap.put("userProfileImage", comment.getUser().getProfileImage());
-                        return commentMap;
-                    }).collect(java.util.stream.Collectors.toList()));
-                    
-                    dtos.add(dto);
-                } catch (Exception e) {
-                    logger.error("Error converting post {} to DTO: {}", post.getId(), e.getMessage());
-                }
-            }
-            
-            if (dtos.isEmpty() && !posts.isEmpty()) {
-                logger.error("Failed to convert any posts to DTOs");
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "Failed to convert posts to DTOs"));
-            }
-            
-            return ResponseEntity.ok(dtos);
+            List<PostFeedItem> posts = postService.getAllPosts();
+            return ResponseEntity.ok(toPostMapsWithDetails(posts, width));
         } catch (Exception e) {
             logger.error("Error fetching posts: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -135,6 +68,27 @@ public class PostController {
         }
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<?> getFeed(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(value = "width", defaultValue = "" + DEFAULT_DISPLAY_WIDTH) int width,
+            @RequestParam(value = "viewerId", required = false) Long viewerId) {
+        CursorPage<PostFeedItem> page = postService.getFeedPage(cursor, size);
+        return ResponseEntity.ok(toPageResponse(page, width, viewerId));
+    }
+
+    // Posts from the accounts the user follows, plus their own, newest first
+    @GetMapping("/timeline")
+    public ResponseEntity<?> getHomeTimeline(
+            @RequestParam Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(value = "width", defaultValue = "" + DEFAULT_DISPLAY_WIDTH) int width) {
+        CursorPage<PostFeedItem> page = timelineService.getHomeTimeline(userId, cursor, size);
+        return ResponseEntity.ok(toPageResponse(page, width, userId));
+    }
+
     @PostMapping
     public ResponseEntity<?> createPost(
             @RequestParam("title") String title,
@@ -177,21 +131,11 @@ public class PostController {
             response.put("description", post.getDescription());
             response.put("createdAt", post.getCreatedAt());
             
-            // Handle images
-            if (post.getImage1() != null) {
-                response.put("image1", Base64.getEncoder().encodeToString(post.getImage1()));
-            }
-            if (post.getImage2() != null) {
-                response.put("image2", Base64.getEncoder().encodeToString(post.getImage2()));
-            }
-            if (post.getImage3() != null) {
-                response.put("image3", Base64.getEncoder().encodeToString(post.getImage3()));
-            }
-            
-            // Handle video
-            if (post.getVideo() != null) {
-                response.put("video", Base64.getEncoder().encodeToString(post.getVideo()));
-            }
+            // Handle images and video
+            putImage(response, "image1", post.getImage1Key(), post.getId(), DEFAULT_DISPLAY_WIDTH);
+            putImage(response, "image2", post.getImage2Key(), post.getId(), DEFAULT_DISPLAY_WIDTH);
+            putImage(response, "image3", post.getImage3Key(), post.getId(), DEFAULT_DISPLAY_WIDTH);
+            putMedia(response, "video", post.getVideoKey(), post.getId());
             
             // Add user info
             Map<String, Object> userMap = new HashMap<>();
@@ -202,6 +146,10 @@ public class PostController {
             
             logger.info("Successfully created post with ID: {}", post.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (MediaRejectedException e) {
+            logger.warn("Rejected media for new post: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatus())
+                .body(Map.of("error", "Failed to create post", "message", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error creating post: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -228,108 +176,112 @@ public class PostController {
     }
 
     @PostMapping("/{id}/like")
-    public ResponseEntity<Post> likePost(@PathVariable Long id, @RequestParam Long userId) {
-        Post post = postService.likePost(id, userId);
-        return new ResponseEntity<>(post, HttpStatus.OK);
+    public ResponseEntity<Map<String, Object>> likePost(@PathVariable Long id, @RequestParam Long userId) {
+        boolean changed = postService.likePost(id, userId);
+        return ResponseEntity.ok(Map.of("postId", id, "liked", true, "changed", changed));
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getPostsByUserId(@PathVariable Long userId) {
+    public ResponseEntity<?> getPostsByUserId(
+            @PathVariable Long userId,
+            @RequestParam(value = "width", defaultValue = "" + DEFAULT_DISPLAY_WIDTH) int width) {
         try {
-            List<Post> posts = postService.getPostsByUserId(userId);
-            List<Map<String, Object>> dtos = new ArrayList<>();
-            
-            for (Post post : posts) {
-                try {
-                    Map<String, Object> dto = new HashMap<>();
-                    dto.put("id", post.getId());
-                    dto.put("title", post.getTitle());
-                    dto.put("description", post.getDescription());
-                    dto.put("createdAt", post.getCreatedAt());
-                    dto.put("likeCount", post.getLikeCount());
-                    dto.put("favoriteCount", post.getFavoriteCount());
-                    dto.put("shareCount", post.getShareCount());
-                    
-                    // Handle images and video safely
-                    try {
-                        if (post.getImage1() != null) {
-                            dto.put("image1", Base64.getEncoder().encodeToString(post.getImage1()));
-                        }
-                    } catch (Exception e) {
-                        logger.warn("Error encoding image1 for post {}: {}", post.getId(), e.getMessage());
-                    }
-                    
-                    try {
-                        if (post.getImage2() != null) {
-                            dto.put("image2", Base64.getEncoder().encodeToString(post.getImage2()));
-                        }
-                    } catch (Exception e) {
-                        logger.warn("Error encoding image2 for post {}: {}", post.getId(), e.getMessage());
-                    }
-                    
-                    try {
-                        if (post.getImage3() != null) {
-                            dto.put("image3", Base64.getEncoder().encodeToString(post.getImage3()));
-                        }
-                    } catch (Exception e) {
-                        logger.warn("Error encoding image3 for post {}: {}", post.getId(), e.getMessage());
-                    }
-                    
-                    try {
-                        if (post.getVideo() != null) {
-                            dto.put("video", Base64.getEncoder().encodeToString(post.getVideo()));
-                        }
-                    } catch (Exception e) {
-                        logger.warn("Error encoding video for post {}: {}", post.getId(), e.getMessage());
-                    }
-                    
-                    // Create user object in the format expected by frontend
-                    User user = post.getUser();
-                    if (user != null) {
-                        Map<String, Object> userMap = new HashMap<>();
-                        userMap.put("id", user.getId());
-                        userMap.put("name", user.getName());
-                        userMap.put("profileImage", user.getProfileImage());
-                        dto.put("user", userMap);
-                    } else {
-                        logger.warn("Post {} has no associated user", post.getId());
-                        continue; // Skip posts without users
-                    }
-                    
-                    // Add interaction lists
-                    dto.put("likedBy", post.getLikedBy().stream().map(User::getId).collect(java.util.stream.Collectors.toList()));
-                    dto.put("favoritedBy", post.getFavoritedBy().stream().map(User::getId).collect(java.util.stream.Collectors.toList()));
-                    dto.put("sharedBy", post.getSharedBy().stream().map(User::getId).collect(java.util.stream.Collectors.toList()));
-                    
-                    // Add comments
-                    dto.put("comments", post.getComments().stream().map(comment -> {
-                        Map<String, Object> commentMap = new HashMap<>();
-                        commentMap.put("id", comment.getId());
-                        commentMap.put("content", comment.getContent());
-                        commentMap.put("createdAt", comment.getCreatedAt());
-                        commentMap.put("userId", comment.getUser().getId());
-                        commentMap.put("userName", comment.getUser().getName());
-                        commentMap.put("userProfileImage", comment.getUser().getProfileImage());
-                        return commentMap;
-                    }).collect(java.util.stream.Collectors.toList()));
-                    
-                    dtos.add(dto);
-                } catch (Exception e) {
-                    logger.error("Error converting post {} to DTO: {}", post.getId(), e.getMessage());
-                }
-            }
-            
-            if (dtos.isEmpty() && !posts.isEmpty()) {
-                logger.error("Failed to convert any posts to DTOs");
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "Failed to convert posts to DTOs"));
-            }
-            
-            return ResponseEntity.ok(dtos);
+            List<PostFeedItem> posts = postService.getPostsByUserId(userId);
+            return ResponseEntity.ok(toPostMapsWithDetails(posts, width));
         } catch (Exception e) {
             logger.error("Error fetching posts for user {}: {}", userId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to fetch posts: " + e.getMessage()));
         }
     }
+
+    private Map<String, Object> toPageResponse(CursorPage<PostFeedItem> page, int displayWidth, Long viewerId) {
+        Map<Long, Integer> viewerFlags = postService.getViewerFlags(viewerId,
+            page.getItems().stream().map(PostFeedItem::id).toList());
+
+        List<Map<String, Object>> items = new ArrayList<>(page.getItems().size());
+        for (PostFeedItem post : page.getItems()) {
+            Map<String, Object> dto = toPostMap(post, displayWidth);
+            if (viewerId != null) {
+                int flags = viewerFlags.getOrDefault(post.id(), InteractionFlags.NONE);
+                dto.put("liked", InteractionFlags.isLiked(flags));
+                dto.put("favorited", InteractionFlags.isFavorited(flags));
+                dto.put("shared", InteractionFlags.isShared(flags));
+            }
+            items.add(dto);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", items);
+        response.put("nextCursor", page.getNextCursor());
+        return response;
+    }
+
+    // The list endpoints still carry interaction ids and comments inline for the current client
+    private List<Map<String, Object>> toPostMapsWithDetails(List<PostFeedItem> posts, int displayWidth) {
+        Map<Long, PostFeedDetails> details = postService.getFeedDetails(posts.stream().map(PostFeedItem::id).toList());
+        List<Map<String, Object>> dtos = new ArrayList<>(posts.size());
+        for (PostFeedItem post : posts) {
+            Map<String, Object> dto = toPostMap(post, displayWidth);
+            PostFeedDetails postDetails = details.getOrDefault(post.id(), PostFeedDetails.EMPTY);
+            dto.put("likedBy", postDetails.likedBy());
+            dto.put("favoritedBy", postDetails.favoritedBy());
+            dto.put("sharedBy", postDetails.sharedBy());
+            dto.put("comments", postDetails.comments());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private Map<String, Object> toPostMap(PostFeedItem post, int displayWidth) {
+        Map<String, Object> dto = new HashMap<>();
+        dto.put("id", post.id());
+        dto.put("title", post.title());
+        dto.put("description", post.description());
+        dto.put("createdAt", post.createdAt());
+        dto.put("likeCount", post.likeCount());
+        dto.put("favoriteCount", post.favoriteCount());
+        dto.put("shareCount", post.shareCount());
+        dto.put("commentCount", post.commentCount());
+
+        putImage(dto, "image1", post.image1Key(), post.id(), displayWidth);
+        putImage(dto, "image2", post.image2Key(), post.id(), displayWidth);
+        putImage(dto, "image3", post.image3Key(), post.id(), displayWidth);
+        putMedia(dto, "video", post.videoKey(), post.id());
+
+        // Create user object in the format expected by frontend
+        Map<String, Object> userMap = new HashMap<>();
+        userMap.put("id", post.userId());
+        userMap.put("name", post.userName());
+        userMap.put("profileImage", post.userProfileImage());
+        dto.put("user", userMap);
+        return dto;
+    }
+
+    // Media is served by PostMediaController; the JSON only carries where to fetch it
+    private void putMedia(Map<String, Object> dto, String field, String mediaKey, Long postId) {
+        if (mediaKey == null) {
+            return;
+        }
+        dto.put(field, mediaUrl(postId, field).toUriString());
+    }
+
+    // Points at the smallest rendition at least as wide as the card, or the original if none fits
+    private void putImage(Map<String, Object> dto, String field, String mediaKey, Long postId, int displayWidth) {
+        if (mediaKey == null) {
+            return;
+        }
+        UriComponentsBuilder url = mediaUrl(postId, field);
+        renditionService.bestFitWidth(mediaKey, displayWidth).ifPresent(width -> url.queryParam("w", width));
+        dto.put(field, url.toUriString());
+    }
+
+    // In stateless mode the browser fetches media without a token, so the URL carries a signature instead
+    private UriComponentsBuilder mediaUrl(Long postId, String field) {
+        String path = "/api/posts/" + postId + "/media/" + field;
+        UriComponentsBuilder url = ServletUriComponentsBuilder.fromCurrentContextPath().path(path);
+        if (accessTokenService.isEnabled()) {
+            accessTokenService.signMediaPath(path).forEach(url::queryParam);
+        }
+        return url;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+package com.example.skill_sharing_backend.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.skill_sharing_backend.exception.MediaRejectedException;
+import com.example.skill_sharing_backend.model.MediaObject;
+import com.example.skill_sharing_backend.service.MediaService;
+import com.example.skill_sharing_backend.service.PostService;
+import com.example.skill_sharing_backend.service.RenditionService;
+import com.example.skill_sharing_backend.storage.MediaKind;
+import com.example.skill_sharing_backend.storage.MediaSlot;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves post media as raw bytes. Single byte ranges are honoured so video
+ * players can seek, and local files are handed to Tomcat's sendfile support
+ * (or FileChannel.transferTo when that is unavailable) rather than being
+ * copied through the heap.
+ */
+@RestController
+@RequestMapping("/api/posts/{postId}/media")
+public class PostMediaController {
+    private static final Logger logger = LoggerFactory.getLogger(PostMediaController.class);
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private RenditionService renditionService;
+
+    @GetMapping("/{slot}")
+    public void streamMedia(
+            @PathVariable Long postId,
+            @PathVariable String slot,
+            @RequestParam(value = "w", required = false) Integer width,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        MediaSlot mediaSlot = MediaSlot.fromPath(slot).orElse(null);
+        Optional<String> mediaKey = mediaSlot == null ? Optional.empty() : postService.getMediaKey(postId, mediaSlot);
+        if (mediaKey.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        String key = mediaKey.get();
+        String contentType = null;
+
+        // Serve the requested rendition when it exists; otherwise fall back to the original
+        if (width != null && mediaSlot.kind() == MediaKind.IMAGE) {
+            Optional<String> rendition = renditionService.renditionKey(key, width);
+            if (rendition.isPresent()) {
+                key = rendition.get();
+                contentType = MediaType.IMAGE_JPEG_VALUE;
+            }
+        }
+
+        // Content is addressed by hash, so the key is a strong validator
+        String etag = "\"" + key + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=86400");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long length = mediaService.size(key);
+        if (contentType == null) {
+            contentType = mediaService.find(key)
+                .map(MediaObject::getContentType)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        }
+        response.setContentType(contentType);
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            if (length == 0 || range.getRangeStart(length) >= length) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(Math.max(count, 0));
+        if (count <= 0 || "HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        Optional<Path> file = mediaService.localFile(key);
+        if (file.isPresent()) {
+            sendFile(file.get(), start, count, request, response);
+        } else {
+            copyStream(key, start, count, response);
+        }
+    }
+
+    /**
+     * Raw-body upload for a single slot. The request stream goes straight into
+     * the media store without multipart parsing or spooling, which suits large
+     * videos.
+     */
+    @PutMapping("/{slot}")
+    public ResponseEntity<?> uploadMedia(
+            @PathVariable Long postId,
+            @PathVariable String slot,
+            @RequestParam Long userId,
+            HttpServletRequest request) throws IOException {
+        MediaSlot mediaSlot = MediaSlot.fromPath(slot)
+            .orElseThrow(() -> new MediaRejectedException(HttpStatus.BAD_REQUEST, "Unknown media slot: " + slot));
+        long declaredLength = request.getContentLengthLong();
+        long limit = mediaService.maxUploadSize(mediaSlot.kind());
+        if (declaredLength > limit) {
+            // Refuse before reading a single byte when the client announces the size
+            throw new MediaRejectedException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Upload exceeds the limit of " + limit + " bytes");
+        }
+
+        Optional<String> mediaKey = postService.attachMedia(postId, userId, mediaSlot, request.getInputStream());
+        if (mediaKey.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(Map.of("slot", mediaSlot.path(), "key", mediaKey.get()));
+    }
+
+    // Only a single range is served; multi-range requests get the whole body, which RFC 9110 permits
+    private HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            logger.debug("Ignoring malformed Range header '{}'", header);
+            return null;
+        }
+    }
+
+    private void sendFile(Path file, long start, long count, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file straight from the page cache once the handler returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private void copyStream(String key, long start, long count, HttpServletResponse response) throws IOException {
+        try (InputStream in = mediaService.open(key)) {
+            in.skipNBytes(start);
+            OutputStream out = response.getOutputStream();
+            byte[] buffer = new byte[64 * 1024];
+            long remaining = count;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.skill_sharing_backend.controller;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.example.skill_sharing_backend.search.SearchDocumentType;
+import com.example.skill_sharing_backend.service.SearchService;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    // type is optional: post, progress_update or learning_plan
+    @GetMapping
+    public ResponseEntity<?> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Search text is required"));
+        }
+        SearchDocumentType documentType = null;
+        if (type != null && !type.isBlank()) {
+            documentType = Arrays.stream(SearchDocumentType.values())
+                .filter(value -> value.name().equals(type.trim().toUpperCase(Locale.ROOT)))
+                .findFirst()
+                .orElse(null);
+            if (documentType == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Unknown type: " + type));
+            }
+        }
+        return ResponseEntity.ok(searchService.search(q, documentType, Math.max(page, 0), CursorPage.clampSize(size)));
+    }
+
+    // Rebuilds the index in the background; searches keep using the old index until it finishes
+    @PostMapping("/reindex")
+    public ResponseEntity<?> reindex() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("started", searchService.startReindex());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+}
@@ -15,7 +15,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.skill_sharing_backend.dto.UserDTO;
+import com.example.skill_sharing_backend.dto.UserSuggestion;
 import com.example.skill_sharing_backend.model.User;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.example.skill_sharing_backend.repository.FollowSummary;
+import com.example.skill_sharing_backend.service.SuggestionService;
 import com.example.skill_sharing_backend.service.UserService;
 
 @RestController
@@ -26,6 +30,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private SuggestionService suggestionService;
+
     @GetMapping
     public ResponseEntity<List<UserDTO>> getAllUsers() {
         return ResponseEntity.ok(userService.getAllUsers());
@@ -49,17 +56,19 @@ public class UserController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<UserDTO>> searchUsers(@RequestParam String query) {
-        return ResponseEntity.ok(userService.searchUsers(query));
+    public ResponseEntity<List<UserDTO>> searchUsers(
+            @RequestParam String query,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.searchUsers(query, limit));
     }
 
     @PostMapping("/follow")
     public ResponseEntity<Map<String, Object>> followUser(
             @RequestParam Long userId,
             @RequestParam Long followedUserId) {
-        User user = userService.followUser(followedUserId, userId);
+        int followersCount = userService.followUser(followedUserId, userId);
         Map<String, Object> response = new HashMap<>();
-        response.put("followersCount", user.getFollowersCount());
+        response.put("followersCount", followersCount);
         response.put("message", "Successfully followed user");
         return ResponseEntity.ok(response);
     }
@@ -68,26 +77,34 @@ public class UserController {
     public ResponseEntity<Map<String, Object>> unfollowUser(
             @RequestParam Long userId,
             @RequestParam Long followedUserId) {
-        User user = userService.unfollowUser(followedUserId, userId);
+        int followersCount = userService.unfollowUser(followedUserId, userId);
         Map<String, Object> response = new HashMap<>();
-        response.put("followersCount", user.getFollowersCount());
+        response.put("followersCount", followersCount);
         response.put("message", "Successfully unfollowed user");
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{id}/followers")
-    public ResponseEntity<Map<String, Object>> getFollowers(@PathVariable Long id) {
-        User user = userService.getUserById(id);
+    public ResponseEntity<Map<String, Object>> getFollowers(
+            @PathVariable Long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<FollowSummary> page = userService.getFollowers(id, cursor, size);
         Map<String, Object> response = new HashMap<>();
-        response.put("followers", user.getFollowers());
+        response.put("followers", page.getItems());
+        response.put("nextCursor", page.getNextCursor());
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{id}/following")
-    public ResponseEntity<Map<String, Object>> getFollowing(@PathVariable Long id) {
-        User user = userService.getUserById(id);
+    public ResponseEntity<Map<String, Object>> getFollowing(
+            @PathVariable Long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<FollowSummary> page = userService.getFollowing(id, cursor, size);
         Map<String, Object> response = new HashMap<>();
-        response.put("following", user.getFollowing());
+        response.put("following", page.getItems());
+        response.put("nextCursor", page.getNextCursor());
         return ResponseEntity.ok(response);
     }
 
@@ -95,19 +112,19 @@ public class UserController {
     public ResponseEntity<Map<String, Boolean>> isFollowing(
             @PathVariable Long id,
             @PathVariable Long followedId) {
-        User user = userService.getUserById(id);
-        User followedUser = userService.getUserById(followedId);
-        
-        if (user == null || followedUser == null) {
-            return ResponseEntity.notFound().build();
-        }
-
-        boolean isFollowing = user.getFollowing().contains(followedUser);
+        boolean isFollowing = userService.isFollowing(id, followedId);
         Map<String, Boolean> response = new HashMap<>();
         response.put("isFollowing", isFollowing);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{id}/suggestions")
+    public ResponseEntity<List<UserSuggestion>> getSuggestions(
+            @PathVariable Long id,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestionService.getSuggestions(id, limit));
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<Map<String, String>> logout() {
         Map<String, String> response = new HashMap<>();
@@ -0,0 +1,27 @@
+package com.example.skill_sharing_backend.dto;
+
+/**
+ * Bits describing how one viewer has interacted with a post. A page of posts
+ * is resolved into one small int per post instead of three lookups each.
+ */
+public final class InteractionFlags {
+    public static final int NONE = 0;
+    public static final int LIKED = 1;
+    public static final int FAVORITED = 2;
+    public static final int SHARED = 4;
+
+    private InteractionFlags() {
+    }
+
+    public static boolean isLiked(int flags) {
+        return (flags & LIKED) != 0;
+    }
+
+    public static boolean isFavorited(int flags) {
+        return (flags & FAVORITED) != 0;
+    }
+
+    public static boolean isShared(int flags) {
+        return (flags & SHARED) != 0;
+    }
+}
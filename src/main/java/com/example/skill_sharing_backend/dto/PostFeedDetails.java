@@ -0,0 +1,16 @@
+package com.example.skill_sharing_backend.dto;
+
+import java.util.List;
+
+/**
+ * Interaction lists and comments for a post, batch-loaded for a whole page of
+ * posts by the endpoints whose clients still render them inline.
+ */
+public record PostFeedDetails(
+    List<Long> likedBy,
+    List<Long> favoritedBy,
+    List<Long> sharedBy,
+    List<CommentDTO> comments
+) {
+    public static final PostFeedDetails EMPTY = new PostFeedDetails(List.of(), List.of(), List.of(), List.of());
+}
@@ -0,0 +1,30 @@
+package com.example.skill_sharing_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for a post card. Filled directly by a JPQL constructor expression,
+ * so building a feed page never loads a managed Post or touches its collections.
+ */
+public record PostFeedItem(
+    Long id,
+    String title,
+    String description,
+    LocalDateTime createdAt,
+    String image1Key,
+    String image2Key,
+    String image3Key,
+    String videoKey,
+    Integer likeCount,
+    Integer favoriteCount,
+    Integer shareCount,
+    Long commentCount,
+    Long userId,
+    String userName,
+    String userProfileImage
+) {
+    public PostFeedItem withCounts(int likeCount, int favoriteCount, int shareCount) {
+        return new PostFeedItem(id, title, description, createdAt, image1Key, image2Key, image3Key, videoKey,
+            likeCount, favoriteCount, shareCount, commentCount, userId, userName, userProfileImage);
+    }
+}
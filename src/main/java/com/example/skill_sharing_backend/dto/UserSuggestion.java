@@ -0,0 +1,5 @@
+package com.example.skill_sharing_backend.dto;
+
+// A suggested account and how many of the viewer's followees already follow it
+public record UserSuggestion(Long id, String name, String profileImage, int mutualCount) {
+}
@@ -0,0 +1,12 @@
+package com.example.skill_sharing_backend.event;
+
+/**
+ * Published after a progress update or learning plan is written or deleted,
+ * so derived indexes can follow. Posts use PostChangedEvent instead.
+ */
+public record ContentChangedEvent(Type type, Long id, boolean deleted) {
+    public enum Type {
+        PROGRESS_UPDATE,
+        LEARNING_PLAN
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.skill_sharing_backend.event;
+
+// Published when followerId starts (following = true) or stops following followedId
+public record FollowChangedEvent(Long followerId, Long followedId, boolean following) {
+}
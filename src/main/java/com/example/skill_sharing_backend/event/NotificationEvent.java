@@ -0,0 +1,31 @@
+package com.example.skill_sharing_backend.event;
+
+import java.time.LocalDateTime;
+
+import com.example.skill_sharing_backend.model.NotificationType;
+
+/**
+ * Something a user should be notified about. For likes and comments the
+ * recipient is the post's author and is resolved when the notification is
+ * written, so recipientId is null; for follows it is the followed user.
+ */
+public record NotificationEvent(
+        NotificationType type,
+        Long recipientId,
+        Long actorId,
+        Long postId,
+        Long commentId,
+        LocalDateTime occurredAt) {
+
+    public static NotificationEvent like(Long postId, Long actorId) {
+        return new NotificationEvent(NotificationType.LIKE, null, actorId, postId, null, LocalDateTime.now());
+    }
+
+    public static NotificationEvent comment(Long postId, Long commentId, Long actorId) {
+        return new NotificationEvent(NotificationType.COMMENT, null, actorId, postId, commentId, LocalDateTime.now());
+    }
+
+    public static NotificationEvent follow(Long followedId, Long followerId) {
+        return new NotificationEvent(NotificationType.FOLLOW, followedId, followerId, null, null, LocalDateTime.now());
+    }
+}
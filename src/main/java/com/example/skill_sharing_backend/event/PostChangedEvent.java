@@ -0,0 +1,14 @@
+package com.example.skill_sharing_backend.event;
+
+/**
+ * Published after a post's content or comment list changes. Listeners such as
+ * the feed cache react once the surrounding transaction has committed.
+ */
+public record PostChangedEvent(Long postId, Long authorId, Type type) {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        COMMENTED
+    }
+}
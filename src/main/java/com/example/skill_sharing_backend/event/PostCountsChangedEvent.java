@@ -0,0 +1,5 @@
+package com.example.skill_sharing_backend.event;
+
+// Counter deltas that have just been written to the posts row
+public record PostCountsChangedEvent(Long postId, long likeDelta, long favoriteDelta, long shareDelta) {
+}
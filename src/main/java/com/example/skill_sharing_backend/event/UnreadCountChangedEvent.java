@@ -0,0 +1,5 @@
+package com.example.skill_sharing_backend.event;
+
+// Published when a user's unread notification count moves by delta
+public record UnreadCountChangedEvent(Long userId, int delta) {
+}
@@ -0,0 +1,5 @@
+package com.example.skill_sharing_backend.event;
+
+// Published after a user is created or their name or email may have changed
+public record UserChangedEvent(Long userId, String name, String email) {
+}
@@ -2,6 +2,7 @@ package com.example.skill_sharing_backend.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -33,4 +34,33 @@ public class GlobalExceptionHandler {
         response.put("message", e.getMessage());
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
-} 
\ No newline at end of file
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursorException(InvalidCursorException e) {
+        logger.warn("Bad request: {}", e.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Bad Request");
+        response.put("message", e.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MediaRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleMediaRejectedException(MediaRejectedException e) {
+        logger.warn("Rejected media upload: {}", e.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", e.getStatus().getReasonPhrase());
+        response.put("message", e.getMessage());
+        return new ResponseEntity<>(response, e.getStatus());
+    }
+
+    @ExceptionHandler(ServerBusyException.class)
+    public ResponseEntity<Map<String, String>> handleServerBusyException(ServerBusyException e) {
+        logger.warn("Shedding load: {}", e.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        response.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(response);
+    }
+}
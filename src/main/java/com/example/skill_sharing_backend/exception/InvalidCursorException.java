@@ -0,0 +1,12 @@
+package com.example.skill_sharing_backend.exception;
+
+/** A pagination cursor the client sent back that this server did not issue, or can no longer read. */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.skill_sharing_backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+import lombok.Getter;
+
+@Getter
+public class MediaRejectedException extends RuntimeException {
+    private final HttpStatus status;
+
+    public MediaRejectedException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
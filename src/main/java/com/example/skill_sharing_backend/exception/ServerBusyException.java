@@ -0,0 +1,14 @@
+package com.example.skill_sharing_backend.exception;
+
+import lombok.Getter;
+
+// Work was refused because a bounded resource is saturated; answered with 429 and Retry-After
+@Getter
+public class ServerBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServerBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.skill_sharing_backend.graph;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.skill_sharing_backend.event.FollowChangedEvent;
+
+/**
+ * In-memory copy of the user_followers graph as sorted long[] adjacency sets,
+ * one for each direction. It is loaded once at startup and then kept current
+ * from FollowChangedEvents, so follow checks, counts and id pages never go
+ * through Hibernate or load a User.
+ */
+@Component
+public class FollowGraphIndex implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(FollowGraphIndex.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // followed id -> follower ids, and follower id -> followed ids
+    private volatile Map<Long, LongSortedSet> followers = new ConcurrentHashMap<>();
+    private volatile Map<Long, LongSortedSet> following = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ensureLoaded();
+    }
+
+    public boolean isFollowing(long followerId, long followedId) {
+        ensureLoaded();
+        LongSortedSet set = following.get(followerId);
+        return set != null && set.contains(followedId);
+    }
+
+    public int followerCount(long userId) {
+        ensureLoaded();
+        LongSortedSet set = followers.get(userId);
+        return set == null ? 0 : set.size();
+    }
+
+    public int followingCount(long userId) {
+        ensureLoaded();
+        LongSortedSet set = following.get(userId);
+        return set == null ? 0 : set.size();
+    }
+
+    // Ids ascending; pass the last id of the previous page as afterId (0 for the first page)
+    public long[] followerIds(long userId, long afterId, int limit) {
+        ensureLoaded();
+        LongSortedSet set = followers.get(userId);
+        return set == null ? new long[0] : set.page(afterId, limit);
+    }
+
+    public long[] followingIds(long userId, long afterId, int limit) {
+        ensureLoaded();
+        LongSortedSet set = following.get(userId);
+        return set == null ? new long[0] : set.page(afterId, limit);
+    }
+
+    // Full snapshot of one user's outgoing edges, for graph walks
+    public long[] allFollowingIds(long userId) {
+        ensureLoaded();
+        LongSortedSet set = following.get(userId);
+        return set == null ? new long[0] : set.toArray();
+    }
+
+    public long[] allFollowerIds(long userId) {
+        ensureLoaded();
+        LongSortedSet set = followers.get(userId);
+        return set == null ? new long[0] : set.toArray();
+    }
+
+    // Visits a user's followed ids in ascending order without copying them
+    public void forEachFollowing(long userId, LongConsumer action) {
+        ensureLoaded();
+        LongSortedSet set = following.get(userId);
+        if (set != null) {
+            set.forEach(action);
+        }
+    }
+
+    public long[] userIdsWithFollowing() {
+        ensureLoaded();
+        return following.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Runs before other follow listeners so they read the updated graph
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        ensureLoaded();
+        // Writers share the load lock so an edge committed during the initial load is not lost
+        synchronized (this) {
+            if (event.following()) {
+                followers.computeIfAbsent(event.followedId(), id -> new LongSortedSet()).add(event.followerId());
+                following.computeIfAbsent(event.followerId(), id -> new LongSortedSet()).add(event.followedId());
+            } else {
+                remove(followers, event.followedId(), event.followerId());
+                remove(following, event.followerId(), event.followedId());
+            }
+        }
+    }
+
+    private static void remove(Map<Long, LongSortedSet> adjacency, long from, long to) {
+        LongSortedSet set = adjacency.get(from);
+        if (set != null) {
+            set.remove(to);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            long start = System.nanoTime();
+            followers = load("SELECT followed_id, follower_id FROM user_followers ORDER BY followed_id, follower_id");
+            following = load("SELECT follower_id, followed_id FROM user_followers ORDER BY follower_id, followed_id");
+            loaded = true;
+            logger.info("Loaded follow graph for {} users in {} ms",
+                followers.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private Map<Long, LongSortedSet> load(String sql) {
+        AdjacencyLoader loader = new AdjacencyLoader();
+        jdbcTemplate.query(sql, loader);
+        return loader.finish();
+    }
+
+    /**
+     * Consumes (key, value) rows sorted by key then value and builds each
+     * adjacency array in a single pass, without boxing the values.
+     */
+    private static final class AdjacencyLoader implements RowCallbackHandler {
+        private final Map<Long, LongSortedSet> adjacency = new ConcurrentHashMap<>();
+        private long currentKey = Long.MIN_VALUE;
+        private long[] values = new long[16];
+        private int size;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long key = rs.getLong(1);
+            long value = rs.getLong(2);
+            if (key != currentKey) {
+                flushCurrent();
+                currentKey = key;
+            }
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private Map<Long, LongSortedSet> finish() {
+            flushCurrent();
+            return adjacency;
+        }
+
+        private void flushCurrent() {
+            if (size > 0) {
+                adjacency.put(currentKey, new LongSortedSet(Arrays.copyOf(values, size), size));
+            }
+            size = 0;
+        }
+    }
+}
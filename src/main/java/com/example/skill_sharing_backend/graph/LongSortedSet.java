@@ -0,0 +1,77 @@
+package com.example.skill_sharing_backend.graph;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Growable sorted array of distinct longs. Membership is a binary search and
+ * a page is an array copy; at 8 bytes per entry it is far smaller than a
+ * Set<Long>, let alone a Set<User>.
+ */
+final class LongSortedSet {
+    private static final long[] EMPTY = new long[0];
+
+    private long[] values;
+    private int size;
+
+    LongSortedSet() {
+        this.values = EMPTY;
+    }
+
+    // Takes ownership of an already sorted, duplicate-free array
+    LongSortedSet(long[] sorted, int size) {
+        this.values = sorted;
+        this.size = size;
+    }
+
+    synchronized boolean add(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+        }
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+        return true;
+    }
+
+    synchronized boolean remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    synchronized boolean contains(long value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    // Up to limit values strictly greater than after, in ascending order
+    synchronized long[] page(long after, int limit) {
+        int index = Arrays.binarySearch(values, 0, size, after);
+        int from = index >= 0 ? index + 1 : -index - 1;
+        int to = (int) Math.min(size, (long) from + limit);
+        return from >= to ? EMPTY : Arrays.copyOfRange(values, from, to);
+    }
+
+    synchronized void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    synchronized long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -8,7 +8,9 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    @Index(name = "idx_comments_notified", columnList = "notified_at, created_at")
+})
 @Data
 public class Comment {
     @Id
@@ -25,4 +27,8 @@ public class Comment {
 
     private String content;
     private LocalDateTime createdAt;
+
+    // Null until the notification pipeline has claimed the comment; existing rows take the default
+    @Column(name = "notified_at", columnDefinition = "DATETIME(6) NULL DEFAULT CURRENT_TIMESTAMP(6)", updatable = false)
+    private LocalDateTime notifiedAt;
 }
\ No newline at end of file
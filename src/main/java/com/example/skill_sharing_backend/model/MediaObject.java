@@ -0,0 +1,27 @@
+package com.example.skill_sharing_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Table(name = "media_objects")
+@Data
+public class MediaObject {
+    @Id
+    @Column(name = "media_key", length = 64)
+    private String key; // hex SHA-256 of the content
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
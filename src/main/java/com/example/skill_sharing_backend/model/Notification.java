@@ -2,10 +2,15 @@ package com.example.skill_sharing_backend.model;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -13,29 +18,45 @@ import jakarta.persistence.Table;
 import lombok.Data;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_read_created", columnList = "user_id, is_read, created_at"),
+    @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at")
+})
 @Data
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;  // The user who receives the notification
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "commenter_id")
     private User commenter;  // The user who made the comment
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id")
     private Post post;  // The post that was commented on
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "comment_id")
     private Comment comment;  // The actual comment
 
+    // Null on rows written before notifications had types; those are all comments
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private NotificationType type;
+
+    // Coalesced likes and follows: how many distinct users acted, and the ids of the most recent few
+    @Column(name = "actor_count")
+    private Integer actorCount;
+
+    @Column(name = "actor_sample", length = 128)
+    private String actorSample;
+
+    @Column(name = "is_read")
     private boolean read;
     private LocalDateTime createdAt;
 
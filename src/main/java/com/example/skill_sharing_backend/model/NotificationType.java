@@ -0,0 +1,7 @@
+package com.example.skill_sharing_backend.model;
+
+public enum NotificationType {
+    LIKE,
+    COMMENT,
+    FOLLOW
+}
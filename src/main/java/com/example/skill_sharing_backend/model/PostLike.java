@@ -1,15 +1,21 @@
 package com.example.skill_sharing_backend.model;
 
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.Data;
 
 @Entity
-@Table(name = "post_likes")
+@Table(name = "post_likes", indexes = {
+    @Index(name = "idx_post_likes_notified", columnList = "notified_at, liked_at")
+})
 @IdClass(PostLikeId.class)
 @Data
 public class PostLike {
@@ -22,4 +28,13 @@ public class PostLike {
     @ManyToOne
     @JoinColumn(name = "user_id")
     private User user;
+
+    // Set by the insert; null for likes recorded before the column existed
+    @Column(name = "liked_at", columnDefinition = "DATETIME(6)", insertable = false, updatable = false)
+    private LocalDateTime likedAt;
+
+    // Null until the notification pipeline has claimed the like; existing rows take the default
+    @Column(name = "notified_at", columnDefinition = "DATETIME(6) NULL DEFAULT CURRENT_TIMESTAMP(6)",
+            insertable = false, updatable = false)
+    private LocalDateTime notifiedAt;
 } 
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.example.skill_sharing_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * One row of user_followers, mapped as an entity so the follow time can be
+ * read. User.followers maps the same table; the column default lets rows
+ * written through that mapping still get a timestamp. The two indexes back
+ * the keyset-paged follower and following lists. notified_at is null until
+ * the notification pipeline has claimed the follow.
+ */
+@Entity
+@Table(name = "user_followers", indexes = {
+    @Index(name = "idx_user_followers_followed_time", columnList = "followed_id, followed_at, follower_id"),
+    @Index(name = "idx_user_followers_follower_time", columnList = "follower_id, followed_at, followed_id"),
+    @Index(name = "idx_user_followers_notified", columnList = "notified_at, followed_at")
+})
+@IdClass(UserFollowId.class)
+@Data
+public class UserFollow {
+    @Id
+    @Column(name = "followed_id")
+    private Long followedId;
+
+    @Id
+    @Column(name = "follower_id")
+    private Long followerId;
+
+    @Column(name = "followed_at", insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6)")
+    private LocalDateTime followedAt;
+
+    @Column(name = "notified_at", insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) NULL DEFAULT CURRENT_TIMESTAMP(6)")
+    private LocalDateTime notifiedAt;
+}
@@ -0,0 +1,15 @@
+package com.example.skill_sharing_backend.model;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserFollowId implements Serializable {
+    private Long followedId;
+    private Long followerId;
+}
@@ -0,0 +1,129 @@
+package com.example.skill_sharing_backend.notification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.skill_sharing_backend.event.NotificationEvent;
+import com.example.skill_sharing_backend.model.NotificationType;
+
+/**
+ * Merges likes of the same post, and follows of the same user, that arrive
+ * within one window into a single pending notification. Each actor is counted
+ * once per window, so like/unlike/like does not inflate the count.
+ */
+class NotificationCoalescer {
+
+    static boolean coalesces(NotificationType type) {
+        return type == NotificationType.LIKE || type == NotificationType.FOLLOW;
+    }
+
+    private final Map<Key, Pending> pending = new ConcurrentHashMap<>();
+
+    void merge(NotificationEvent event) {
+        Key key = new Key(event.type(), event.type() == NotificationType.FOLLOW ? event.recipientId() : event.postId());
+        pending.compute(key, (k, current) -> {
+            Pending merged = current == null ? new Pending(event) : current;
+            merged.add(event.actorId(), event.occurredAt());
+            return merged;
+        });
+    }
+
+    /** Removes and returns the notifications whose window opened at or before {@code openedBy}. */
+    List<Pending> drainReady(LocalDateTime openedBy) {
+        List<Pending> ready = new ArrayList<>();
+        for (Key key : pending.keySet()) {
+            pending.computeIfPresent(key, (k, current) -> {
+                if (current.firstAt.isAfter(openedBy)) {
+                    return current;
+                }
+                ready.add(current);
+                return null;
+            });
+        }
+        return ready;
+    }
+
+    List<Pending> drainAll() {
+        return drainReady(LocalDateTime.MAX);
+    }
+
+    int size() {
+        return pending.size();
+    }
+
+    private record Key(NotificationType type, Long targetId) {
+    }
+
+    /** One notification about to be written; for comments it always holds a single actor. */
+    static final class Pending {
+        final NotificationType type;
+        final Long recipientId;
+        final Long postId;
+        final Long commentId;
+        final LocalDateTime firstAt;
+        LocalDateTime lastAt;
+        // Insertion order is oldest first; re-adding an actor moves it to the end
+        final LinkedHashSet<Long> actors = new LinkedHashSet<>();
+
+        Pending(NotificationEvent event) {
+            this.type = event.type();
+            this.recipientId = event.recipientId();
+            this.postId = event.postId();
+            this.commentId = event.commentId();
+            this.firstAt = event.occurredAt();
+            this.lastAt = event.occurredAt();
+        }
+
+        static Pending single(NotificationEvent event) {
+            Pending pending = new Pending(event);
+            pending.add(event.actorId(), event.occurredAt());
+            return pending;
+        }
+
+        void add(Long actorId, LocalDateTime at) {
+            actors.remove(actorId);
+            actors.add(actorId);
+            if (at.isAfter(lastAt)) {
+                lastAt = at;
+            }
+        }
+
+        /** Keeps only the actors whose source rows this writer claimed. */
+        void retainActors(Collection<Long> claimed) {
+            actors.retainAll(claimed);
+        }
+
+        /** Drops the recipient from the actors; false when nobody else is left. */
+        boolean withoutActor(Long recipientId) {
+            actors.remove(recipientId);
+            return !actors.isEmpty();
+        }
+
+        Long latestActor() {
+            return actors.getLast();
+        }
+
+        /** Most recent actors first. */
+        List<Long> recentActors(int size) {
+            List<Long> ordered = new ArrayList<>(actors).reversed();
+            return ordered.subList(0, Math.min(size, ordered.size()));
+        }
+
+        /** Most recent actors first, comma separated. */
+        String sample(int size) {
+            StringBuilder sample = new StringBuilder();
+            for (Long actorId : recentActors(size)) {
+                if (!sample.isEmpty()) {
+                    sample.append(',');
+                }
+                sample.append(actorId);
+            }
+            return sample.toString();
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.example.skill_sharing_backend.notification;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.skill_sharing_backend.event.NotificationEvent;
+import com.example.skill_sharing_backend.event.UnreadCountChangedEvent;
+import com.example.skill_sharing_backend.model.NotificationType;
+import com.example.skill_sharing_backend.notification.NotificationCoalescer.Pending;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Writes notifications off the request path. Events are queued once the
+ * originating transaction commits and a small pool of workers drains the
+ * queue, inserting up to notifications.batch-size rows per JDBC batch. The
+ * authors of the posts in a batch are looked up with one query, so a like
+ * costs the request no extra reads. Each written notification is pushed to
+ * the recipient's open event streams.
+ *
+ * Likes of one post and follows of one user are coalesced in memory for
+ * notifications.coalesce-window before they are written, so a burst of likes
+ * becomes a single row carrying an actor count and a sample of the most recent
+ * actors ("Alice and 41 others liked your post"). Comments are written as they
+ * arrive.
+ *
+ * The queue is bounded: when it is full the event is dropped and counted
+ * rather than blocking the request. Every comment, like and follow row starts
+ * with a null notified_at; a notification is only written for the rows the
+ * writer marks in the same transaction. Dropped events, failed batches and
+ * events still queued when the process died leave their rows unmarked, and
+ * replay feeds those back through the coalescer and the same write path, at
+ * startup and then periodically over the last notifications.replay-window.
+ * Since replay never looks at the notifications table, a notification the
+ * user deleted is not brought back.
+ */
+@Component
+public class NotificationPipeline implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPipeline.class);
+
+    private static final String INSERT =
+        "INSERT INTO notifications "
+            + "(user_id, commenter_id, post_id, comment_id, type, is_read, created_at, actor_count, actor_sample) "
+            + "VALUES (?, ?, ?, ?, ?, 0, ?, ?, ?)";
+
+    // Each source row is claimed once, by whichever of the pipeline or replay gets to it first
+    private static final String CLAIM_COMMENT =
+        "UPDATE comments SET notified_at = NOW(6) WHERE id = ? AND notified_at IS NULL";
+    private static final String CLAIM_LIKE =
+        "UPDATE post_likes SET notified_at = NOW(6) WHERE post_id = ? AND user_id = ? AND notified_at IS NULL";
+    private static final String CLAIM_FOLLOW =
+        "UPDATE user_followers SET notified_at = NOW(6) WHERE followed_id = ? AND follower_id = ? AND notified_at IS NULL";
+
+    private static final String UNCLAIMED_COMMENTS =
+        "SELECT c.post_id, c.id, c.user_id, c.created_at FROM comments c JOIN posts p ON p.id = c.post_id "
+            + "WHERE c.notified_at IS NULL AND c.created_at >= ? AND c.created_at < ? AND c.user_id <> p.user_id "
+            + "ORDER BY c.created_at LIMIT ?";
+    private static final String UNCLAIMED_LIKES =
+        "SELECT l.post_id, l.user_id, l.liked_at FROM post_likes l JOIN posts p ON p.id = l.post_id "
+            + "WHERE l.notified_at IS NULL AND l.liked_at >= ? AND l.liked_at < ? AND l.user_id <> p.user_id "
+            + "ORDER BY l.liked_at LIMIT ?";
+    private static final String UNCLAIMED_FOLLOWS =
+        "SELECT followed_id, follower_id, followed_at FROM user_followers "
+            + "WHERE notified_at IS NULL AND followed_at >= ? AND followed_at < ? AND follower_id <> followed_id "
+            + "ORDER BY followed_at LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private NotificationPushRegistry pushRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${notifications.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${notifications.workers:2}")
+    private int workerCount;
+
+    @Value("${notifications.batch-size:200}")
+    private int batchSize;
+
+    @Value("${notifications.replay-window:1h}")
+    private Duration replayWindow;
+
+    @Value("${notifications.coalesce-window:30s}")
+    private Duration coalesceWindow;
+
+    @Value("${notifications.coalesce-sample:3}")
+    private int sampleSize;
+
+    // Replay leaves recent rows alone so it does not race events still queued or coalescing
+    @Value("${notifications.replay-settle:2m}")
+    private Duration replaySettle;
+
+    // Upper bound on source rows of each kind read by one replay pass
+    @Value("${notifications.replay-limit:10000}")
+    private int replayLimit;
+
+    private BlockingQueue<NotificationEvent> queue;
+    private final NotificationCoalescer coalescer = new NotificationCoalescer();
+    private ExecutorService workers;
+    private volatile boolean running = true;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private Counter enqueued;
+    private Counter dropped;
+    private Counter written;
+    private Counter failed;
+    private Timer batchTimer;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("notifications.queue.size", queue, BlockingQueue::size)
+            .description("Notification events waiting to be written")
+            .register(meterRegistry);
+        Gauge.builder("notifications.queue.remaining", queue, BlockingQueue::remainingCapacity)
+            .register(meterRegistry);
+        Gauge.builder("notifications.batches.active", inFlight, AtomicInteger::get)
+            .register(meterRegistry);
+        Gauge.builder("notifications.coalescing", coalescer, NotificationCoalescer::size)
+            .description("Coalesced notifications waiting for their window to close")
+            .register(meterRegistry);
+        enqueued = meterRegistry.counter("notifications.events", "outcome", "enqueued");
+        dropped = meterRegistry.counter("notifications.events", "outcome", "dropped");
+        written = meterRegistry.counter("notifications.rows", "outcome", "written");
+        failed = meterRegistry.counter("notifications.rows", "outcome", "failed");
+        batchTimer = meterRegistry.timer("notifications.batch.write");
+
+        int threads = Math.max(1, workerCount);
+        AtomicInteger threadIds = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "notification-writer-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            workers.submit(this::drainLoop);
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        replay();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotification(NotificationEvent event) {
+        if (event.recipientId() != null && event.recipientId().equals(event.actorId())) {
+            return;
+        }
+        if (queue.offer(event)) {
+            enqueued.increment();
+        } else {
+            dropped.increment();
+            logger.debug("Notification queue full, dropped {} from user {}", event.type(), event.actorId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.replay-interval-ms:300000}",
+               initialDelayString = "${notifications.replay-interval-ms:300000}")
+    public void replay() {
+        LocalDateTime to = LocalDateTime.now().minus(replaySettle);
+        LocalDateTime from = to.minus(replayWindow);
+        try {
+            List<NotificationEvent> events = new ArrayList<>();
+            events.addAll(jdbcTemplate.query(UNCLAIMED_COMMENTS,
+                (rs, i) -> new NotificationEvent(NotificationType.COMMENT, null, rs.getLong(3), rs.getLong(1),
+                    rs.getLong(2), rs.getTimestamp(4).toLocalDateTime()),
+                from, to, replayLimit));
+            events.addAll(jdbcTemplate.query(UNCLAIMED_LIKES,
+                (rs, i) -> new NotificationEvent(NotificationType.LIKE, null, rs.getLong(2), rs.getLong(1),
+                    null, rs.getTimestamp(3).toLocalDateTime()),
+                from, to, replayLimit));
+            events.addAll(jdbcTemplate.query(UNCLAIMED_FOLLOWS,
+                (rs, i) -> new NotificationEvent(NotificationType.FOLLOW, rs.getLong(1), rs.getLong(2), null,
+                    null, rs.getTimestamp(3).toLocalDateTime()),
+                from, to, replayLimit));
+            if (events.isEmpty()) {
+                return;
+            }
+            // Rows arrive oldest first per kind, so each coalesced row ends on its most recent actor
+            NotificationCoalescer replayed = new NotificationCoalescer();
+            List<Pending> pending = new ArrayList<>();
+            for (NotificationEvent event : events) {
+                if (NotificationCoalescer.coalesces(event.type())) {
+                    replayed.merge(event);
+                } else {
+                    pending.add(Pending.single(event));
+                }
+            }
+            pending.addAll(replayed.drainAll());
+            int restored = writeInBatches(pending);
+            if (restored > 0) {
+                logger.info("Replayed {} missing notifications since {}", restored, from);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Notification replay failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.flush-interval-ms:1000}")
+    public void flushCoalesced() {
+        writeInBatches(coalescer.drainReady(LocalDateTime.now().minus(coalesceWindow)));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+        // Whatever is left is written on the closing thread; replay covers anything lost after this
+        List<NotificationEvent> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        writeInBatches(accept(rest));
+        writeInBatches(coalescer.drainAll());
+    }
+
+    private void drainLoop() {
+        List<NotificationEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                NotificationEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                List<Pending> immediate = accept(batch);
+                if (!immediate.isEmpty()) {
+                    write(immediate);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Coalescable events go into the window; the rest are returned to be written now
+    private List<Pending> accept(List<NotificationEvent> events) {
+        List<Pending> immediate = new ArrayList<>();
+        for (NotificationEvent event : events) {
+            if (NotificationCoalescer.coalesces(event.type())) {
+                coalescer.merge(event);
+            } else {
+                immediate.add(Pending.single(event));
+            }
+        }
+        return immediate;
+    }
+
+    private int writeInBatches(List<Pending> notifications) {
+        int total = 0;
+        for (int from = 0; from < notifications.size(); from += batchSize) {
+            total += write(notifications.subList(from, Math.min(from + batchSize, notifications.size())));
+        }
+        return total;
+    }
+
+    private int write(List<Pending> batch) {
+        Map<Long, Long> authors = postAuthors(batch);
+        Map<Pending, Long> recipients = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            Long recipientId = pending.type == NotificationType.FOLLOW ? pending.recipientId : authors.get(pending.postId);
+            // Deleted posts produce nothing
+            if (recipientId != null) {
+                recipients.put(pending, recipientId);
+            }
+        }
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+        List<Row> rows = new ArrayList<>(recipients.size());
+        KeyHolder keys = new GeneratedKeyHolder();
+        inFlight.incrementAndGet();
+        try {
+            batchTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                claim(recipients);
+                recipients.forEach((pending, recipientId) -> {
+                    // Users acting on their own content, and rows someone else already claimed, produce nothing
+                    if (pending.withoutActor(recipientId)) {
+                        rows.add(new Row(recipientId, pending, pending.latestActor(), pending.sample(sampleSize)));
+                    }
+                });
+                if (!rows.isEmpty()) {
+                    insert(rows, keys);
+                }
+            }));
+        } catch (RuntimeException e) {
+            failed.increment(recipients.size());
+            logger.warn("Failed to write {} notifications, leaving them to replay: {}", recipients.size(), e.getMessage());
+            return 0;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        written.increment(rows.size());
+        publish(rows, keys.getKeyList());
+        return rows.size();
+    }
+
+    // Marks the source rows behind each notification and keeps only the actors whose rows were marked here
+    private void claim(Map<Pending, Long> recipients) {
+        Map<String, List<Object[]>> args = new HashMap<>();
+        Map<String, List<Claim>> claims = new HashMap<>();
+        recipients.forEach((pending, recipientId) -> {
+            for (Long actorId : pending.actors) {
+                String sql;
+                Object[] params;
+                switch (pending.type) {
+                    case COMMENT -> {
+                        sql = CLAIM_COMMENT;
+                        params = new Object[] {pending.commentId};
+                    }
+                    case LIKE -> {
+                        sql = CLAIM_LIKE;
+                        params = new Object[] {pending.postId, actorId};
+                    }
+                    default -> {
+                        sql = CLAIM_FOLLOW;
+                        params = new Object[] {recipientId, actorId};
+                    }
+                }
+                args.computeIfAbsent(sql, k -> new ArrayList<>()).add(params);
+                claims.computeIfAbsent(sql, k -> new ArrayList<>()).add(new Claim(pending, actorId));
+            }
+        });
+        Map<Pending, Set<Long>> claimed = new HashMap<>();
+        args.forEach((sql, params) -> {
+            int[] counts = jdbcTemplate.batchUpdate(sql, params);
+            List<Claim> owners = claims.get(sql);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                    Claim claim = owners.get(i);
+                    claimed.computeIfAbsent(claim.pending(), k -> new HashSet<>()).add(claim.actorId());
+                }
+            }
+        });
+        recipients.keySet().forEach(pending -> pending.retainActors(claimed.getOrDefault(pending, Set.of())));
+    }
+
+    private void insert(List<Row> rows, KeyHolder keys) {
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Row row = rows.get(i);
+                    ps.setLong(1, row.recipientId());
+                    ps.setLong(2, row.actorId());
+                    ps.setObject(3, row.pending().postId);
+                    ps.setObject(4, row.pending().commentId);
+                    ps.setString(5, row.pending().type.name());
+                    ps.setTimestamp(6, Timestamp.valueOf(row.pending().lastAt));
+                    ps.setInt(7, row.pending().actors.size());
+                    ps.setString(8, row.sample());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            },
+            keys);
+    }
+
+    // Pushes each new notification to its recipient's open streams and announces the unread deltas
+    private void publish(List<Row> rows, List<Map<String, Object>> keys) {
+        Map<Long, Integer> unread = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            unread.merge(row.recipientId(), 1, Integer::sum);
+            Object id = i < keys.size() ? keys.get(i).values().stream().findFirst().orElse(null) : null;
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("id", id);
+            payload.put("type", row.pending().type);
+            payload.put("actorId", row.actorId());
+            payload.put("actorCount", row.pending().actors.size());
+            payload.put("actorIds", row.pending().recentActors(sampleSize));
+            payload.put("postId", row.pending().postId);
+            payload.put("commentId", row.pending().commentId);
+            payload.put("createdAt", row.pending().lastAt);
+            payload.put("read", false);
+            pushRegistry.push(row.recipientId(), "notification", payload);
+        }
+        unread.forEach((userId, delta) -> eventPublisher.publishEvent(new UnreadCountChangedEvent(userId, delta)));
+    }
+
+    private Map<Long, Long> postAuthors(List<Pending> batch) {
+        List<Long> postIds = batch.stream()
+            .filter(pending -> pending.postId != null)
+            .map(pending -> pending.postId)
+            .distinct()
+            .toList();
+        Map<Long, Long> authors = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return authors;
+        }
+        String placeholders = String.join(",", Collections.nCopies(postIds.size(), "?"));
+        jdbcTemplate.query("SELECT id, user_id FROM posts WHERE id IN (" + placeholders + ")",
+            rs -> {
+                authors.put(rs.getLong(1), rs.getLong(2));
+            },
+            postIds.toArray());
+        return authors;
+    }
+
+    private record Row(Long recipientId, Pending pending, Long actorId, String sample) {
+    }
+
+    private record Claim(Pending pending, Long actorId) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.skill_sharing_backend.notification;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.example.skill_sharing_backend.event.UnreadCountChangedEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Open Server-Sent Events streams, by user. A stream is an async request, so
+ * an idle connection holds no thread, only its emitter and socket. Sends run
+ * on virtual threads so a slow client cannot stall the notification writers,
+ * and a periodic comment line keeps proxies from closing idle streams.
+ */
+@Component
+public class NotificationPushRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPushRegistry.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${notifications.sse.timeout:30m}")
+    private Duration timeout;
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("notifications.sse.connections", subscribers,
+                s -> s.values().stream().mapToInt(Set::size).sum())
+            .register(meterRegistry);
+    }
+
+    /** Opens a stream whose first event is the current unread count. */
+    public SseEmitter subscribe(Long userId, long unreadCount) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(userId, emitter));
+        emitter.onTimeout(() -> unsubscribe(userId, emitter));
+        emitter.onError(e -> unsubscribe(userId, emitter));
+        send(userId, emitter, () -> SseEmitter.event().name("unread").data(Map.of("count", unreadCount)));
+        return emitter;
+    }
+
+    public void push(Long userId, String name, Object data) {
+        Set<SseEmitter> emitters = subscribers.get(userId);
+        if (emitters == null) {
+            return;
+        }
+        senders.execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                send(userId, emitter, () -> SseEmitter.event().name(name).data(data));
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        push(event.userId(), "unread", Map.of("delta", event.delta()));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach((userId, emitters) -> senders.execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                send(userId, emitter, () -> SseEmitter.event().comment("ping"));
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    // Builders are single-use, so each emitter gets a fresh one
+    private void send(Long userId, SseEmitter emitter, Supplier<SseEventBuilder> event) {
+        try {
+            emitter.send(event.get());
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping notification stream for user {}: {}", userId, e.getMessage());
+            // The container reports the broken connection and completes the emitter itself
+            unsubscribe(userId, emitter);
+        }
+    }
+
+    private void unsubscribe(Long userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
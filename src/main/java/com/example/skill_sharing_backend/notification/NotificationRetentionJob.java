@@ -0,0 +1,99 @@
+package com.example.skill_sharing_backend.notification;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes read notifications older than notifications.retention.read-max-age.
+ * Rows go in chunks of notifications.retention.chunk-size, oldest id first,
+ * each chunk its own short statement with a pause in between, so the job
+ * never holds long locks or builds one huge undo log. With
+ * notifications.retention.archive=true the rows are copied to
+ * notifications_archive before they are deleted; the copy is INSERT IGNORE,
+ * so a chunk interrupted between copy and delete is simply archived again.
+ * The archive has its own fixed column list rather than mirroring the live
+ * table, so adding a column to notifications does not break the copy; a new
+ * column is archived once it is added to ARCHIVED_COLUMNS and the archive
+ * table. Unread notifications are never touched.
+ */
+@Component
+public class NotificationRetentionJob {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private static final String ARCHIVED_COLUMNS =
+        "id, user_id, commenter_id, post_id, comment_id, type, actor_count, actor_sample, is_read, created_at";
+
+    private static final String CREATE_ARCHIVE =
+        "CREATE TABLE IF NOT EXISTS notifications_archive ("
+            + "id BIGINT NOT NULL PRIMARY KEY, "
+            + "user_id BIGINT, commenter_id BIGINT, post_id BIGINT, comment_id BIGINT, "
+            + "type VARCHAR(16), actor_count INT, actor_sample VARCHAR(128), "
+            + "is_read BIT(1) NOT NULL, created_at DATETIME(6), "
+            + "KEY idx_notifications_archive_user_created (user_id, created_at))";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${notifications.retention.read-max-age:90d}")
+    private Duration readMaxAge;
+
+    @Value("${notifications.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${notifications.retention.pause-ms:100}")
+    private long pauseMs;
+
+    @Value("${notifications.retention.archive:false}")
+    private boolean archive;
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(readMaxAge);
+        long start = System.nanoTime();
+        long removed = 0;
+        // Walks the primary key forward so each chunk starts where the last one ended, not at the lowest id again
+        long lastId = 0;
+        try {
+            if (archive) {
+                jdbcTemplate.execute(CREATE_ARCHIVE);
+            }
+            while (true) {
+                List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM notifications WHERE id > ? AND is_read = 1 AND created_at < ? ORDER BY id LIMIT ?",
+                    Long.class, lastId, cutoff, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                lastId = ids.get(ids.size() - 1);
+                String in = "(" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+                if (archive) {
+                    jdbcTemplate.update("INSERT IGNORE INTO notifications_archive (" + ARCHIVED_COLUMNS + ") "
+                        + "SELECT " + ARCHIVED_COLUMNS + " FROM notifications WHERE id IN " + in, ids.toArray());
+                }
+                removed += jdbcTemplate.update("DELETE FROM notifications WHERE id IN " + in, ids.toArray());
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.warn("Notification retention stopped after {} rows: {}", removed, e.getMessage());
+        }
+        if (removed > 0) {
+            logger.info("{} {} read notifications older than {} in {} ms", archive ? "Archived" : "Purged",
+                removed, cutoff, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
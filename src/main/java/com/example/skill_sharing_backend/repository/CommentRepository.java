@@ -2,11 +2,20 @@ package com.example.skill_sharing_backend.repository;
 
 
 
+import com.example.skill_sharing_backend.dto.CommentDTO;
 import com.example.skill_sharing_backend.model.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostId(Long postId);
+
+    @Query("SELECT new com.example.skill_sharing_backend.dto.CommentDTO(" +
+           "c.id, c.content, c.createdAt, u.id, u.name, u.profileImage, c.post.id) " +
+           "FROM Comment c JOIN c.user u WHERE c.post.id IN :postIds ORDER BY c.createdAt, c.id")
+    List<CommentDTO> findDtosByPostIdIn(@Param("postIds") Collection<Long> postIds);
 }
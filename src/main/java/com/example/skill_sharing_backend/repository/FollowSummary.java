@@ -0,0 +1,8 @@
+package com.example.skill_sharing_backend.repository;
+
+import java.time.LocalDateTime;
+
+// A user in a follower or following list, with when the follow happened
+public interface FollowSummary extends UserSummary {
+    LocalDateTime getFollowedAt();
+}
@@ -0,0 +1,10 @@
+package com.example.skill_sharing_backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.skill_sharing_backend.model.MediaObject;
+
+@Repository
+public interface MediaObjectRepository extends JpaRepository<MediaObject, String> {
+}
@@ -1,12 +1,59 @@
 package com.example.skill_sharing_backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.skill_sharing_backend.model.Notification;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    String SUMMARY_SELECT =
+        "SELECT n.id AS id, n.type AS type, n.read AS read, n.createdAt AS createdAt, " +
+        "a.id AS actorId, a.name AS actorName, a.profileImage AS actorImage, " +
+        "n.actorCount AS actorCount, n.actorSample AS actorSample, " +
+        "p.id AS postId, p.title AS postTitle, n.comment.id AS commentId " +
+        "FROM Notification n LEFT JOIN n.commenter a LEFT JOIN n.post p ";
+
+    // Keyset pages newest first, ties broken by id; the unread variants use the (user_id, is_read, created_at) index
+    @Query(SUMMARY_SELECT + "WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationSummary> findSummariesHead(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE n.user.id = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationSummary> findSummariesAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE n.user.id = :userId AND n.read = false ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationSummary> findUnreadSummariesHead(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE n.user.id = :userId AND n.read = false " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationSummary> findUnreadSummariesAfter(@Param("userId") Long userId,
+                                                       @Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") Long id, Pageable pageable);
+
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
     List<Notification> findByUserIdAndReadOrderByCreatedAtDesc(Long userId, boolean read);
+    long countByUserIdAndReadFalse(Long userId);
+
+    // Returns the number of notifications that were unread
+    // Conditional, so of two concurrent calls only one sees a changed row
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.read = false")
+    int markAsRead(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false")
+    int markAllAsRead(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.read = true")
+    int deleteReadByUserId(@Param("userId") Long userId);
 } 
\ No newline at end of file
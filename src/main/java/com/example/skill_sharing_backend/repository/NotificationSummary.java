@@ -0,0 +1,21 @@
+package com.example.skill_sharing_backend.repository;
+
+import java.time.LocalDateTime;
+
+import com.example.skill_sharing_backend.model.NotificationType;
+
+// A notification as listed: the latest actor's name and avatar and the post title, nothing else of either
+public interface NotificationSummary {
+    Long getId();
+    NotificationType getType();
+    Boolean getRead();
+    LocalDateTime getCreatedAt();
+    Long getActorId();
+    String getActorName();
+    String getActorImage();
+    Integer getActorCount();
+    String getActorSample();
+    Long getPostId();
+    String getPostTitle();
+    Long getCommentId();
+}
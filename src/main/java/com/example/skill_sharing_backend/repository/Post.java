@@ -11,9 +11,9 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -21,7 +21,9 @@ import jakarta.persistence.Table;
 import lombok.Data;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_created_at_id", columnList = "created_at, id")
+})
 @Data
 public class Post {
     @Id
@@ -35,14 +37,15 @@ public class Post {
     private String title;
     private String description;
 
-    @Lob
-    private byte[] image1;
-    @Lob
-    private byte[] image2;
-    @Lob
-    private byte[] image3;
-    @Lob
-    private byte[] video;
+    // Media lives in the MediaStore; the post only keeps the content keys
+    @Column(name = "image1_key", length = 64)
+    private String image1Key;
+    @Column(name = "image2_key", length = 64)
+    private String image2Key;
+    @Column(name = "image3_key", length = 64)
+    private String image3Key;
+    @Column(name = "video_key", length = 64)
+    private String videoKey;
 
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -0,0 +1,7 @@
+package com.example.skill_sharing_backend.repository;
+
+// Interaction bits of one viewer on one post, see InteractionFlags
+public interface PostInteractionFlags {
+    Long getPostId();
+    Integer getFlags();
+}
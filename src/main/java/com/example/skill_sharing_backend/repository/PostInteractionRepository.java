@@ -0,0 +1,46 @@
+package com.example.skill_sharing_backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.skill_sharing_backend.model.PostInteraction;
+import com.example.skill_sharing_backend.model.PostInteraction.InteractionType;
+
+@Repository
+public interface PostInteractionRepository extends JpaRepository<PostInteraction, Long> {
+    List<PostInteraction> findByPostId(Long postId);
+    Optional<PostInteraction> findByUserIdAndPostIdAndInteractionType(Long userId, Long postId, InteractionType type);
+    boolean existsByUserIdAndPostIdAndInteractionType(Long userId, Long postId, InteractionType type);
+
+    // The (user_id, post_id, interaction_type) unique key turns a repeat into a no-op; returns rows inserted
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_interactions (user_id, post_id, interaction_type, created_at) " +
+                   "VALUES (:userId, :postId, :type, NOW())",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("postId") Long postId, @Param("type") String type);
+
+    @Modifying
+    @Query("DELETE FROM PostInteraction i " +
+           "WHERE i.user.id = :userId AND i.post.id = :postId AND i.interactionType = :type")
+    int deleteInteraction(@Param("userId") Long userId, @Param("postId") Long postId, @Param("type") InteractionType type);
+
+    // Likes are recorded in post_likes as well as post_interactions, so both are folded into the bits
+    @Query(value = "SELECT t.post_id AS postId, CAST(BIT_OR(t.flag) AS SIGNED) AS flags FROM (" +
+                   "SELECT pl.post_id, 1 AS flag FROM post_likes pl " +
+                   "WHERE pl.user_id = :viewerId AND pl.post_id IN (:postIds) " +
+                   "UNION ALL " +
+                   "SELECT pi.post_id, CASE pi.interaction_type " +
+                   "WHEN 'LIKE' THEN 1 WHEN 'FAVORITE' THEN 2 WHEN 'SHARE' THEN 4 ELSE 0 END AS flag " +
+                   "FROM post_interactions pi " +
+                   "WHERE pi.user_id = :viewerId AND pi.post_id IN (:postIds)" +
+                   ") t GROUP BY t.post_id",
+           nativeQuery = true)
+    List<PostInteractionFlags> findViewerFlags(@Param("viewerId") Long viewerId, @Param("postIds") Collection<Long> postIds);
+}
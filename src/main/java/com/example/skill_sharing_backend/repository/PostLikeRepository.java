@@ -4,6 +4,9 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.skill_sharing_backend.model.PostLike;
@@ -16,4 +19,13 @@ public interface PostLikeRepository extends JpaRepository<PostLike, PostLikeId>
     Optional<PostLike> findByPostIdAndUserId(Long postId, Long userId);
     boolean existsByPostIdAndUserId(Long postId, Long userId);
     void deleteByPostIdAndUserId(Long postId, Long userId);
+
+    // The (post_id, user_id) primary key turns a repeat like into a no-op; returns rows inserted
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_likes (post_id, user_id, liked_at, notified_at) VALUES (:postId, :userId, NOW(6), NULL)", nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM PostLike l WHERE l.post.id = :postId AND l.user.id = :userId")
+    int deleteLike(@Param("postId") Long postId, @Param("userId") Long userId);
 } 
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.skill_sharing_backend.repository;
+
+// Projection used by the media endpoint so serving a file never loads the post
+public interface PostMediaKeys {
+    String getImage1Key();
+    String getImage2Key();
+    String getImage3Key();
+    String getVideoKey();
+}
@@ -0,0 +1,64 @@
+package com.example.skill_sharing_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.skill_sharing_backend.dto.PostFeedItem;
+import com.example.skill_sharing_backend.model.Post;
+
+@Repository
+public interface PostRepository extends JpaRepository<Post, Long> {
+    // Feed columns plus aggregated counts; the inner join drops posts without an owner
+    String FEED_ITEM_SELECT =
+        "SELECT new com.example.skill_sharing_backend.dto.PostFeedItem(" +
+        "p.id, p.title, p.description, p.createdAt, p.image1Key, p.image2Key, p.image3Key, p.videoKey, " +
+        "COALESCE(p.likeCount, 0), COALESCE(p.favoriteCount, 0), COALESCE(p.shareCount, 0), " +
+        "(SELECT COUNT(c) FROM Comment c WHERE c.post = p), " +
+        "u.id, u.name, u.profileImage) " +
+        "FROM Post p JOIN p.user u ";
+
+    List<Post> findAllByOrderByCreatedAtDesc();
+    List<Post> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    @Query(FEED_ITEM_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostFeedItem> findFeedItems();
+
+    @Query(FEED_ITEM_SELECT + "WHERE u.id = :userId ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostFeedItem> findFeedItemsByUserId(@Param("userId") Long userId);
+
+    // Keyset pagination over idx_posts_created_at_id: newest first, ties broken by id
+    @Query(FEED_ITEM_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostFeedItem> findFeedHead(Pageable pageable);
+
+    @Query(FEED_ITEM_SELECT +
+           "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostFeedItem> findFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(FEED_ITEM_SELECT + "WHERE p.id IN :ids")
+    List<PostFeedItem> findFeedItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id AS postId, u.id AS userId FROM Post p JOIN p.likedBy u WHERE p.id IN :postIds")
+    List<PostUserLink> findLikedByLinks(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT p.id AS postId, u.id AS userId FROM Post p JOIN p.favoritedBy u WHERE p.id IN :postIds")
+    List<PostUserLink> findFavoritedByLinks(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT p.id AS postId, u.id AS userId FROM Post p JOIN p.sharedBy u WHERE p.id IN :postIds")
+    List<PostUserLink> findSharedByLinks(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT p.image1Key AS image1Key, p.image2Key AS image2Key, p.image3Key AS image3Key, p.videoKey AS videoKey " +
+           "FROM Post p WHERE p.id = :id")
+    Optional<PostMediaKeys> findMediaKeysById(@Param("id") Long id);
+
+    @Query("SELECT p.user.id FROM Post p WHERE p.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+}
@@ -0,0 +1,7 @@
+package com.example.skill_sharing_backend.repository;
+
+// One row of a post's liked/favorited/shared join table
+public interface PostUserLink {
+    Long getPostId();
+    Long getUserId();
+}
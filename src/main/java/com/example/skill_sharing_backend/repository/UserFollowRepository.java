@@ -0,0 +1,45 @@
+package com.example.skill_sharing_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.skill_sharing_backend.model.UserFollow;
+import com.example.skill_sharing_backend.model.UserFollowId;
+
+// Keyset pages newest follow first; ties on followed_at are broken by the other user's id
+@Repository
+public interface UserFollowRepository extends JpaRepository<UserFollow, UserFollowId> {
+    @Query("SELECT u.id AS id, u.name AS name, u.profileImage AS profileImage, f.followedAt AS followedAt " +
+           "FROM UserFollow f JOIN User u ON u.id = f.followerId " +
+           "WHERE f.followedId = :userId " +
+           "ORDER BY f.followedAt DESC, f.followerId DESC")
+    List<FollowSummary> findFollowersHead(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.name AS name, u.profileImage AS profileImage, f.followedAt AS followedAt " +
+           "FROM UserFollow f JOIN User u ON u.id = f.followerId " +
+           "WHERE f.followedId = :userId " +
+           "AND (f.followedAt < :followedAt OR (f.followedAt = :followedAt AND f.followerId < :id)) " +
+           "ORDER BY f.followedAt DESC, f.followerId DESC")
+    List<FollowSummary> findFollowersAfter(@Param("userId") Long userId, @Param("followedAt") LocalDateTime followedAt,
+                                           @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.name AS name, u.profileImage AS profileImage, f.followedAt AS followedAt " +
+           "FROM UserFollow f JOIN User u ON u.id = f.followedId " +
+           "WHERE f.followerId = :userId " +
+           "ORDER BY f.followedAt DESC, f.followedId DESC")
+    List<FollowSummary> findFollowingHead(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.name AS name, u.profileImage AS profileImage, f.followedAt AS followedAt " +
+           "FROM UserFollow f JOIN User u ON u.id = f.followedId " +
+           "WHERE f.followerId = :userId " +
+           "AND (f.followedAt < :followedAt OR (f.followedAt = :followedAt AND f.followedId < :id)) " +
+           "ORDER BY f.followedAt DESC, f.followedId DESC")
+    List<FollowSummary> findFollowingAfter(@Param("userId") Long userId, @Param("followedAt") LocalDateTime followedAt,
+                                           @Param("id") Long id, Pageable pageable);
+}
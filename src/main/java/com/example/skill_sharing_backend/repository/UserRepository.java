@@ -1,18 +1,47 @@
 package com.example.skill_sharing_backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.skill_sharing_backend.model.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     User findByEmail(String email);
-    
-    @Query("SELECT u FROM User u WHERE LOWER(u.name) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<User> searchUsers(@Param("query") String query);
+
+    @Query("SELECT u.id AS id, u.name AS name, u.profileImage AS profileImage FROM User u WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Compare-and-set, so a rehash never overwrites a password changed in the meantime
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int replacePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    // Follow edges are written directly; the user_followers primary key makes a repeat follow a no-op
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_followers (followed_id, follower_id, followed_at, notified_at) " +
+                   "VALUES (:followedId, :followerId, NOW(6), NULL)",
+           nativeQuery = true)
+    int insertFollow(@Param("followedId") Long followedId, @Param("followerId") Long followerId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_followers WHERE followed_id = :followedId AND follower_id = :followerId",
+           nativeQuery = true)
+    int deleteFollow(@Param("followedId") Long followedId, @Param("followerId") Long followerId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followersCount = GREATEST(u.followersCount + :delta, 0) WHERE u.id = :id")
+    int adjustFollowersCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followingCount = GREATEST(u.followingCount + :delta, 0) WHERE u.id = :id")
+    int adjustFollowingCount(@Param("id") Long id, @Param("delta") int delta);
 }
@@ -0,0 +1,8 @@
+package com.example.skill_sharing_backend.repository;
+
+// Just enough of a user to render a name and avatar in a list
+public interface UserSummary {
+    Long getId();
+    String getName();
+    String getProfileImage();
+}
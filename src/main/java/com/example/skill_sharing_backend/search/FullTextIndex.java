@@ -0,0 +1,261 @@
+package com.example.skill_sharing_backend.search;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Embedded Lucene index on local disk. Writes go to a single shared
+ * IndexWriter; searches use near-real-time readers that are refreshed about
+ * once a second, and the index is committed every search.commit-interval-ms
+ * (30 seconds by default) and on shutdown.
+ * Title matches are boosted over body matches.
+ */
+@Component
+public class FullTextIndex {
+    private static final Logger logger = LoggerFactory.getLogger(FullTextIndex.class);
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String USER_ID = "userId";
+    private static final String TITLE = "title";
+    private static final String BODY = "body";
+    private static final int MAX_HITS = 1_000;
+
+    @Value("${search.index.dir:${user.home}/skill-sharing/search-index}")
+    private Path indexDir;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private Directory directory;
+    // Replaced when a failed rebuild is rolled back
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+    private volatile boolean bulkLoading;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(indexDir);
+        directory = FSDirectory.open(indexDir);
+        open();
+    }
+
+    private void open() throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+            .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+            .setRAMBufferSizeMB(64);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    // Replaces any earlier version of the same entity
+    public void upsert(SearchDocument doc) {
+        Document document = new Document();
+        document.add(new StringField(KEY, key(doc.type(), doc.id()), Field.Store.NO));
+        document.add(new StringField(TYPE, doc.type().name(), Field.Store.YES));
+        document.add(new StoredField(ID, doc.id()));
+        if (doc.userId() != null) {
+            document.add(new StoredField(USER_ID, doc.userId()));
+        }
+        if (doc.title() != null) {
+            document.add(new TextField(TITLE, doc.title(), Field.Store.YES));
+        }
+        if (doc.body() != null) {
+            document.add(new TextField(BODY, doc.body(), Field.Store.NO));
+        }
+        try {
+            writer.updateDocument(new Term(KEY, key(doc.type(), doc.id())), document);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to index " + key(doc.type(), doc.id()), e);
+        }
+    }
+
+    public void delete(SearchDocumentType type, long id) {
+        try {
+            writer.deleteDocuments(new Term(KEY, key(type, id)));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to remove " + key(type, id) + " from the index", e);
+        }
+    }
+
+    public SearchResults search(String text, SearchDocumentType type, int page, int size) {
+        int from = page * size;
+        if (text == null || text.isBlank() || from >= MAX_HITS) {
+            return new SearchResults(List.of(), 0, page, size);
+        }
+        Query query = parse(text, type);
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs top = searcher.search(query, Math.min(from + size, MAX_HITS));
+            StoredFields storedFields = searcher.storedFields();
+            List<SearchHit> hits = new ArrayList<>(size);
+            for (int i = from; i < top.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = top.scoreDocs[i];
+                Document doc = storedFields.document(scoreDoc.doc);
+                Number userId = doc.getField(USER_ID) == null ? null : doc.getField(USER_ID).numericValue();
+                hits.add(new SearchHit(
+                    SearchDocumentType.valueOf(doc.get(TYPE)),
+                    doc.getField(ID).numericValue().longValue(),
+                    userId == null ? null : userId.longValue(),
+                    doc.get(TITLE),
+                    scoreDoc.score));
+            }
+            return new SearchResults(hits, top.totalHits.value, page, size);
+        } catch (IOException e) {
+            throw new RuntimeException("Search failed: " + e.getMessage(), e);
+        } finally {
+            if (searcher != null) {
+                release(searcher);
+            }
+        }
+    }
+
+    /**
+     * Commits what is there, then suspends commits and reader refreshes so
+     * searches keep seeing the previous snapshot while a full reindex runs.
+     * endBulk commits and publishes the result; abortBulk throws it away and
+     * goes back to the commit made here.
+     */
+    public void beginBulk() {
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to commit the index before a rebuild", e);
+        }
+        bulkLoading = true;
+    }
+
+    public void endBulk() {
+        try {
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to publish the rebuilt index", e);
+        } finally {
+            bulkLoading = false;
+        }
+    }
+
+    public synchronized void abortBulk() {
+        try {
+            // rollback() also closes the writer, so the index is reopened at its last commit
+            writer.rollback();
+            SearcherManager previous = searcherManager;
+            open();
+            previous.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to roll back the rebuilt index", e);
+        } finally {
+            bulkLoading = false;
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to clear the index", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (bulkLoading) {
+            return;
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.warn("Failed to refresh search reader: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.commit-interval-ms:30000}")
+    public void commit() {
+        if (bulkLoading || !writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            logger.warn("Failed to commit search index: {}", e.getMessage());
+        }
+    }
+
+    // User input is escaped, so any text is a plain keyword query rather than Lucene syntax
+    private Query parse(String text, SearchDocumentType type) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(
+            new String[] {TITLE, BODY}, analyzer, Map.of(TITLE, 2f, BODY, 1f));
+        Query query;
+        try {
+            query = parser.parse(MultiFieldQueryParser.escape(text));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid search query");
+        }
+        if (type == null) {
+            return query;
+        }
+        return new BooleanQuery.Builder()
+            .add(query, BooleanClause.Occur.MUST)
+            .add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.FILTER)
+            .build();
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            logger.warn("Failed to release search reader: {}", e.getMessage());
+        }
+    }
+
+    private static String key(SearchDocumentType type, long id) {
+        return type.name() + ":" + id;
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.skill_sharing_backend.search;
+
+// Searchable text of one post, progress update or learning plan
+public record SearchDocument(SearchDocumentType type, long id, Long userId, String title, String body) {
+}
@@ -0,0 +1,7 @@
+package com.example.skill_sharing_backend.search;
+
+public enum SearchDocumentType {
+    POST,
+    PROGRESS_UPDATE,
+    LEARNING_PLAN
+}
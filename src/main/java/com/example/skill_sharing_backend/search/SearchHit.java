@@ -0,0 +1,4 @@
+package com.example.skill_sharing_backend.search;
+
+public record SearchHit(SearchDocumentType type, long id, Long userId, String title, float score) {
+}
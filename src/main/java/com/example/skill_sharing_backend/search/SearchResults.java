@@ -0,0 +1,7 @@
+package com.example.skill_sharing_backend.search;
+
+import java.util.List;
+
+// One page of hits; total is Lucene's hit count, which may be a lower bound for very broad queries
+public record SearchResults(List<SearchHit> items, long total, int page, int size) {
+}
@@ -0,0 +1,219 @@
+package com.example.skill_sharing_backend.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.skill_sharing_backend.event.UserChangedEvent;
+
+/**
+ * In-memory typeahead index over user names and emails.
+ *
+ * Queries of three or more characters intersect trigram posting sets and
+ * then confirm the substring, so "%q%" semantics are kept without a table
+ * scan. Shorter queries use a sorted token map for prefix matches. A query
+ * never examines more than MAX_CANDIDATES users, which bounds the worst case
+ * (a one-letter prefix) regardless of table size.
+ */
+@Component
+public class UserSearchIndex implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+    private static final int GRAM = 3;
+    private static final int MAX_CANDIDATES = 5_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> grams = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<Long>> tokens = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        jdbcTemplate.query("SELECT id, name, email FROM users",
+            rs -> {
+                index(rs.getLong(1), rs.getString(2), rs.getString(3));
+            });
+        logger.info("Indexed {} users for search in {} ms", entries.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        index(event.userId(), event.name(), event.email());
+    }
+
+    /** Ids of the best matches, most relevant first. */
+    public List<Long> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        PriorityQueue<Scored> best = new PriorityQueue<>(limit + 1, Scored.WORST_FIRST);
+        int examined = 0;
+        for (Long id : candidates(q)) {
+            if (++examined > MAX_CANDIDATES) {
+                break;
+            }
+            Entry entry = entries.get(id);
+            int score = entry == null ? 0 : entry.score(q);
+            if (score > 0) {
+                best.offer(new Scored(entry, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ids.add(best.poll().entry.id);
+        }
+        return ids.reversed();
+    }
+
+    private Iterable<Long> candidates(String q) {
+        if (q.length() < GRAM) {
+            Set<Long> matches = new HashSet<>();
+            for (Set<Long> ids : tokens.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+                matches.addAll(ids);
+                if (matches.size() >= MAX_CANDIDATES) {
+                    break;
+                }
+            }
+            return matches;
+        }
+
+        // Walk the rarest gram's postings and require every other gram; the substring check happens in score()
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String gram : gramsOf(q)) {
+            Set<Long> ids = grams.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            postings.add(ids);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> rarest = postings.get(0);
+        List<Set<Long>> rest = postings.subList(1, postings.size());
+        List<Long> matches = new ArrayList<>();
+        for (Long id : rarest) {
+            if (rest.stream().allMatch(ids -> ids.contains(id))) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    private synchronized void index(long id, String name, String email) {
+        Entry previous = entries.get(id);
+        if (previous != null) {
+            for (String key : previous.keys()) {
+                removePosting(grams, key, id);
+            }
+            for (String token : previous.tokens()) {
+                removePosting(tokens, token, id);
+            }
+        }
+        Entry entry = new Entry(id, normalize(name), normalize(email));
+        entries.put(id, entry);
+        for (String key : entry.keys()) {
+            grams.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        for (String token : entry.tokens()) {
+            tokens.computeIfAbsent(token, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> index, String key, long id) {
+        Set<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key, ids);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private record Entry(long id, String name, String email) {
+        Set<String> keys() {
+            Set<String> keys = gramsOf(name);
+            keys.addAll(gramsOf(email));
+            return keys;
+        }
+
+        // Name words plus the whole name and email, for short-prefix lookups
+        Set<String> tokens() {
+            Set<String> result = new HashSet<>();
+            for (String word : name.split("[\\s._@-]+")) {
+                if (!word.isEmpty()) {
+                    result.add(word);
+                }
+            }
+            if (!name.isEmpty()) {
+                result.add(name);
+            }
+            if (!email.isEmpty()) {
+                result.add(email);
+            }
+            return result;
+        }
+
+        // Exact name beats name prefix, then word prefix, email prefix and plain substring
+        int score(String q) {
+            if (name.equals(q)) {
+                return 100;
+            }
+            if (name.startsWith(q)) {
+                return 80;
+            }
+            if (name.contains(" " + q)) {
+                return 60;
+            }
+            if (email.startsWith(q)) {
+                return 50;
+            }
+            if (name.contains(q)) {
+                return 30;
+            }
+            return email.contains(q) ? 20 : 0;
+        }
+    }
+
+    private record Scored(Entry entry, int score) {
+        // Lower score first, then longer name, then higher id, so the heap drops the weakest match
+        static final Comparator<Scored> WORST_FIRST = Comparator.comparingInt(Scored::score)
+            .thenComparing(s -> s.entry.name.length(), Comparator.reverseOrder())
+            .thenComparing(s -> s.entry.id, Comparator.reverseOrder());
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.skill_sharing_backend.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Issues and checks short-lived access tokens for stateless mode. Tokens are
+ * standard HS256 JWTs (user id in "sub", email, sign-in time, issued-at and
+ * expiry) signed with auth.token.secret, so every node holding the same secret
+ * can verify them locally without a session store. The same key signs the
+ * OAuth handshake cookie.
+ *
+ * A token lives for auth.token.ttl. Clients exchange a still-valid token for a
+ * fresh one at POST /api/auth/refresh; refreshed tokens keep the original
+ * sign-in time, and refresh is refused once auth.token.max-session has passed
+ * since then. An expired token is simply rejected with 401 and the user signs
+ * in again.
+ *
+ * Media URLs are signed with the same key instead, since <img> and <video>
+ * tags cannot send a bearer token. The expiry is rounded up to a multiple of
+ * auth.media-url.ttl so a URL stays the same, and stays browser-cacheable,
+ * for the whole window.
+ */
+@Component
+public class AccessTokenService {
+    private static final String HEADER = base64(
+        "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+    private static final String HMAC = "HmacSHA256";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${auth.stateless.enabled:false}")
+    private boolean enabled;
+
+    @Value("${auth.token.secret:}")
+    private String secret;
+
+    @Value("${auth.token.ttl:15m}")
+    private Duration ttl;
+
+    @Value("${auth.token.max-session:7d}")
+    private Duration maxSession;
+
+    @Value("${auth.media-url.ttl:10m}")
+    private Duration mediaUrlTtl;
+
+    private SecretKeySpec key;
+
+    public record TokenPrincipal(Long userId, String email, long authTime) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalStateException("auth.token.secret must be at least 32 bytes when auth.stateless.enabled=true");
+        }
+        key = new SecretKeySpec(bytes, HMAC);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public String issue(Long userId, String email) {
+        return issue(userId, email, Instant.now().getEpochSecond());
+    }
+
+    /** A fresh token for the same sign-in, or null once auth.token.max-session has passed since it. */
+    public String refresh(TokenPrincipal principal) {
+        if (Instant.ofEpochSecond(principal.authTime()).plus(maxSession).isBefore(Instant.now())) {
+            return null;
+        }
+        return issue(principal.userId(), principal.email(), principal.authTime());
+    }
+
+    private String issue(Long userId, String email, long authTime) {
+        Instant now = Instant.now();
+        Map<String, Object> claims = Map.of(
+            "sub", String.valueOf(userId),
+            "email", email == null ? "" : email,
+            "auth_time", authTime,
+            "iat", now.getEpochSecond(),
+            "exp", now.plus(ttl).getEpochSecond());
+        try {
+            String signingInput = HEADER + "." + base64(objectMapper.writeValueAsBytes(claims));
+            return signingInput + "." + base64(sign(signingInput.getBytes(StandardCharsets.US_ASCII)));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to issue access token", e);
+        }
+    }
+
+    /** The token's principal, or null when it is malformed, forged or expired. */
+    public TokenPrincipal verify(String token) {
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot < 0 || firstDot == lastDot || !HEADER.equals(token.substring(0, firstDot))) {
+            return null;
+        }
+        try {
+            byte[] expected = sign(token.substring(0, lastDot).getBytes(StandardCharsets.US_ASCII));
+            if (!MessageDigest.isEqual(expected, Base64.getUrlDecoder().decode(token.substring(lastDot + 1)))) {
+                return null;
+            }
+            Map<?, ?> claims = objectMapper.readValue(
+                Base64.getUrlDecoder().decode(token.substring(firstDot + 1, lastDot)), Map.class);
+            if (!(claims.get("exp") instanceof Number exp) || exp.longValue() <= Instant.now().getEpochSecond()) {
+                return null;
+            }
+            long authTime = claims.get("auth_time") instanceof Number at ? at.longValue()
+                : claims.get("iat") instanceof Number iat ? iat.longValue() : 0L;
+            return new TokenPrincipal(Long.valueOf((String) claims.get("sub")), (String) claims.get("email"), authTime);
+        } catch (IllegalArgumentException | ClassCastException | IOException e) {
+            return null;
+        }
+    }
+
+    /** Query parameters that let {@code path} be fetched without a token until they expire. */
+    public Map<String, String> signMediaPath(String path) {
+        long window = Math.max(1, mediaUrlTtl.getSeconds());
+        long expires = (Instant.now().getEpochSecond() / window + 2) * window;
+        return Map.of("expires", String.valueOf(expires), "sig", mediaSignature(path, expires));
+    }
+
+    public boolean verifyMediaPath(String path, String expires, String signature) {
+        if (key == null || expires == null || signature == null) {
+            return false;
+        }
+        try {
+            long expiresAt = Long.parseLong(expires);
+            return expiresAt > Instant.now().getEpochSecond() && MessageDigest.isEqual(
+                mediaSignature(path, expiresAt).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private String mediaSignature(String path, long expires) {
+        // Prefixed so a media signature can never pass for a token signature or vice versa
+        return base64(sign(("media:" + path + ":" + expires).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    byte[] sign(byte[] data) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+
+    static String base64(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.skill_sharing_backend.service;
+
+import java.util.List;
+
+import com.example.skill_sharing_backend.dto.PostFeedItem;
+import com.example.skill_sharing_backend.model.PostInteraction.InteractionType;
+
+public interface InteractionCounterService {
+    void record(Long postId, InteractionType type, int delta);
+    List<PostFeedItem> withPendingCounts(List<PostFeedItem> posts);
+    void flush();
+    void reconcile();
+}
@@ -0,0 +1,18 @@
+package com.example.skill_sharing_backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.example.skill_sharing_backend.model.MediaObject;
+import com.example.skill_sharing_backend.storage.MediaKind;
+
+public interface MediaService {
+    MediaObject store(InputStream content, MediaKind kind) throws IOException;
+    long maxUploadSize(MediaKind kind);
+    Optional<MediaObject> find(String key);
+    InputStream open(String key) throws IOException;
+    long size(String key) throws IOException;
+    Optional<Path> localFile(String key);
+}
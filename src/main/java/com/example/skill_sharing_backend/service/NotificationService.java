@@ -2,11 +2,20 @@ package com.example.skill_sharing_backend.service;
 
 import java.util.List;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import com.example.skill_sharing_backend.model.Notification;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.example.skill_sharing_backend.repository.NotificationSummary;
 
 public interface NotificationService {
     List<Notification> getNotificationsForUser(Long userId);
+    CursorPage<NotificationSummary> getNotifications(Long userId, String cursor, int size, boolean unreadOnly);
     Notification createCommentNotification(Long userId, Long commenterId, Long postId, Long commentId);
     void markAsRead(Long notificationId);
+    int markAllAsRead(Long userId);
+    long getUnreadCount(Long userId);
     void deleteNotification(Long notificationId);
+    int deleteRead(Long userId);
+    SseEmitter subscribe(Long userId);
 } 
\ No newline at end of file
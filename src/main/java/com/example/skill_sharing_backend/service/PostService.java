@@ -1,26 +1,36 @@
 package com.example.skill_sharing_backend.service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.skill_sharing_backend.dto.PostDTO;
+import com.example.skill_sharing_backend.dto.PostFeedDetails;
+import com.example.skill_sharing_backend.dto.PostFeedItem;
 import com.example.skill_sharing_backend.model.Post;
 import com.example.skill_sharing_backend.model.User;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.example.skill_sharing_backend.storage.MediaSlot;
 
 public interface PostService {
-    List<Post> getAllPosts();
+    List<PostFeedItem> getAllPosts();
+    CursorPage<PostFeedItem> getFeedPage(String cursor, int size);
+    Map<Long, PostFeedDetails> getFeedDetails(List<Long> postIds);
     Post createPost(PostDTO postDTO, List<MultipartFile> images, MultipartFile video, Long userId);
     Post updatePost(Long id, PostDTO postDTO);
     boolean deletePost(Long id, Long userId);
     
-    // Post interactions
-    Post likePost(Long id, Long userId);
-    Post unlikePost(Long id, Long userId);
-    Post favoritePost(Long id, Long userId);
-    Post unfavoritePost(Long id, Long userId);
-    Post sharePost(Long id, Long userId);
-    Post unsharePost(Long id, Long userId);
+    // Post interactions; each returns whether the state actually changed
+    boolean likePost(Long id, Long userId);
+    boolean unlikePost(Long id, Long userId);
+    boolean favoritePost(Long id, Long userId);
+    boolean unfavoritePost(Long id, Long userId);
+    boolean sharePost(Long id, Long userId);
+    boolean unsharePost(Long id, Long userId);
     
     // Get interaction lists
     List<User> getLikedByUsers(Long postId);
@@ -31,6 +41,9 @@ public interface PostService {
     boolean hasUserLiked(Long postId, Long userId);
     boolean hasUserFavorited(Long postId, Long userId);
     boolean hasUserShared(Long postId, Long userId);
+    Map<Long, Integer> getViewerFlags(Long viewerId, List<Long> postIds);
 
-    List<Post> getPostsByUserId(Long userId);
+    List<PostFeedItem> getPostsByUserId(Long userId);
+    Optional<String> getMediaKey(Long postId, MediaSlot slot);
+    Optional<String> attachMedia(Long postId, Long userId, MediaSlot slot, InputStream content) throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.skill_sharing_backend.service;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+
+public interface RenditionService {
+    void requestRenditions(String mediaKey);
+    OptionalInt bestFitWidth(String mediaKey, int displayWidth);
+    Optional<String> renditionKey(String mediaKey, int width);
+}
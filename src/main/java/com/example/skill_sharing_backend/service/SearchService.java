@@ -0,0 +1,10 @@
+package com.example.skill_sharing_backend.service;
+
+import com.example.skill_sharing_backend.search.SearchDocumentType;
+import com.example.skill_sharing_backend.search.SearchResults;
+
+public interface SearchService {
+    SearchResults search(String query, SearchDocumentType type, int page, int size);
+    boolean startReindex();
+    void reindexAll();
+}
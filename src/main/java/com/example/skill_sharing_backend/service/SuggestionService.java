@@ -0,0 +1,10 @@
+package com.example.skill_sharing_backend.service;
+
+import java.util.List;
+
+import com.example.skill_sharing_backend.dto.UserSuggestion;
+
+public interface SuggestionService {
+    List<UserSuggestion> getSuggestions(Long userId, int limit);
+    void recomputeAll();
+}
@@ -0,0 +1,9 @@
+package com.example.skill_sharing_backend.service;
+
+import com.example.skill_sharing_backend.dto.PostFeedItem;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+
+public interface TimelineService {
+    CursorPage<PostFeedItem> getHomeTimeline(Long userId, String cursor, int size);
+    void evict(Long userId);
+}
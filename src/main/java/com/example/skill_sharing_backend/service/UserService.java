@@ -7,17 +7,22 @@ import org.springframework.http.ResponseEntity;
 import com.example.skill_sharing_backend.dto.EmailLoginDTO;
 import com.example.skill_sharing_backend.dto.UserDTO;
 import com.example.skill_sharing_backend.model.User;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.example.skill_sharing_backend.repository.FollowSummary;
 
 public interface UserService {
     ResponseEntity<User> createUser(User user);
     User getUserById(Long id);
-    User followUser(Long userId, Long followerId);
-    User unfollowUser(Long userId, Long followerId);
-    List<UserDTO> searchUsers(String query);
+    int followUser(Long userId, Long followerId);
+    int unfollowUser(Long userId, Long followerId);
+    List<UserDTO> searchUsers(String query, int limit);
     List<UserDTO> getAllUsers();
     boolean isFollowing(Long userId, Long followedId);
+    CursorPage<FollowSummary> getFollowers(Long userId, String cursor, int size);
+    CursorPage<FollowSummary> getFollowing(Long userId, String cursor, int size);
     ResponseEntity<?> login(EmailLoginDTO loginDTO);
     ResponseEntity<?> register(EmailLoginDTO registerDTO);
     User findByEmail(String email);
     ResponseEntity<User> updateUser(User user);
+    UserDTO resolveOAuthUser(String subject, String email, String name, String picture);
 }
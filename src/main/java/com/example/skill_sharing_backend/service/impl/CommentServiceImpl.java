@@ -4,9 +4,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.example.skill_sharing_backend.dto.CommentDTO;
+import com.example.skill_sharing_backend.event.NotificationEvent;
+import com.example.skill_sharing_backend.event.PostChangedEvent;
 import com.example.skill_sharing_backend.model.Comment;
 import com.example.skill_sharing_backend.repository.CommentRepository;
 import com.example.skill_sharing_backend.repository.PostRepository;
@@ -26,6 +29,9 @@ public class CommentServiceImpl implements CommentService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<Comment> getCommentsByPostId(Long postId) {
         return commentRepository.findByPostId(postId);
@@ -38,7 +44,10 @@ public class CommentServiceImpl implements CommentService {
         comment.setUser(userRepository.findById(userId).orElseThrow());
         comment.setContent(commentDTO.getContent());
         comment.setCreatedAt(LocalDateTime.now());
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        eventPublisher.publishEvent(new PostChangedEvent(postId, null, PostChangedEvent.Type.COMMENTED));
+        eventPublisher.publishEvent(NotificationEvent.comment(postId, saved.getId(), userId));
+        return saved;
     }
 
     @Override
@@ -50,6 +59,10 @@ public class CommentServiceImpl implements CommentService {
 
     @Override
     public void deleteComment(Long id) {
-        commentRepository.deleteById(id);
+        commentRepository.findById(id).ifPresent(comment -> {
+            commentRepository.delete(comment);
+            eventPublisher.publishEvent(
+                new PostChangedEvent(comment.getPost().getId(), null, PostChangedEvent.Type.COMMENTED));
+        });
     }
 }
\ No newline at end of file
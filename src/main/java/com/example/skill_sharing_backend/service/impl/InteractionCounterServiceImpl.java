@@ -0,0 +1,239 @@
+package com.example.skill_sharing_backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.skill_sharing_backend.dto.PostFeedItem;
+import com.example.skill_sharing_backend.event.PostCountsChangedEvent;
+import com.example.skill_sharing_backend.model.PostInteraction.InteractionType;
+import com.example.skill_sharing_backend.service.InteractionCounterService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind counters for posts.like_count, favorite_count and share_count.
+ * Deltas accumulate in per-post LongAdders and are written in one JDBC batch
+ * of relative UPDATEs per flush, so concurrent likes on a hot post never queue
+ * on its row. The interaction rows stay the source of truth: anything lost
+ * with the process is repaired by the reconcile job.
+ */
+@Service
+public class InteractionCounterServiceImpl implements InteractionCounterService {
+    private static final Logger logger = LoggerFactory.getLogger(InteractionCounterServiceImpl.class);
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final Map<Long, PendingCounts> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Deltas are only buffered once the interaction row has committed, so a flush never runs ahead of the rows
+    @Override
+    public void record(Long postId, InteractionType type, int delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(postId, type, delta);
+                }
+            });
+        } else {
+            add(postId, type, delta);
+        }
+    }
+
+    private void add(Long postId, InteractionType type, long delta) {
+        PendingCounts counts = pending.computeIfAbsent(postId, id -> new PendingCounts());
+        counts.adder(type).add(delta);
+        // An idle flush may have removed the entry after we looked it up; whatever it did not collect moves over
+        if (pending.get(postId) != counts) {
+            long stranded = counts.adder(type).sumThenReset();
+            if (stranded != 0) {
+                add(postId, type, stranded);
+            }
+        }
+    }
+
+    // Overlays deltas not yet flushed so a viewer sees their own like immediately
+    @Override
+    public List<PostFeedItem> withPendingCounts(List<PostFeedItem> posts) {
+        if (pending.isEmpty()) {
+            return posts;
+        }
+        List<PostFeedItem> adjusted = new ArrayList<>(posts.size());
+        for (PostFeedItem post : posts) {
+            PendingCounts counts = pending.get(post.id());
+            adjusted.add(counts == null ? post : post.withCounts(
+                clamp(post.likeCount() + counts.likes.sum()),
+                clamp(post.favoriteCount() + counts.favorites.sum()),
+                clamp(post.shareCount() + counts.shares.sum())));
+        }
+        return adjusted;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${posts.counters.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, PendingCounts> entry : pending.entrySet()) {
+            PendingCounts counts = entry.getValue();
+            long likes = counts.likes.sumThenReset();
+            long favorites = counts.favorites.sumThenReset();
+            long shares = counts.shares.sumThenReset();
+            if (likes == 0 && favorites == 0 && shares == 0) {
+                // Idle for a whole interval; a delta racing the removal is picked up below or moved over by add()
+                if (pending.remove(entry.getKey(), counts)) {
+                    likes = counts.likes.sumThenReset();
+                    favorites = counts.favorites.sumThenReset();
+                    shares = counts.shares.sumThenReset();
+                }
+                if (likes == 0 && favorites == 0 && shares == 0) {
+                    continue;
+                }
+            }
+            batch.add(new Object[] {likes, favorites, shares, entry.getKey()});
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(
+                "UPDATE posts SET " +
+                "like_count = GREATEST(COALESCE(like_count, 0) + ?, 0), " +
+                "favorite_count = GREATEST(COALESCE(favorite_count, 0) + ?, 0), " +
+                "share_count = GREATEST(COALESCE(share_count, 0) + ?, 0) " +
+                "WHERE id = ?",
+                batch);
+            for (Object[] row : batch) {
+                eventPublisher.publishEvent(
+                    new PostCountsChangedEvent((Long) row[3], (Long) row[0], (Long) row[1], (Long) row[2]));
+            }
+            logger.debug("Flushed interaction counters for {} posts", batch.size());
+        } catch (Exception e) {
+            // Put the deltas back so the next flush retries them
+            logger.warn("Failed to flush interaction counters for {} posts: {}", batch.size(), e.getMessage());
+            for (Object[] row : batch) {
+                Long postId = (Long) row[3];
+                add(postId, InteractionType.LIKE, (Long) row[0]);
+                add(postId, InteractionType.FAVORITE, (Long) row[1]);
+                add(postId, InteractionType.SHARE, (Long) row[2]);
+            }
+        }
+    }
+
+    /**
+     * Recomputes every post's counters from post_likes and post_interactions,
+     * walking posts by id in batches. Deltas still buffered in memory are
+     * subtracted so the next flush does not count them twice.
+     */
+    @Override
+    @Scheduled(cron = "${posts.counters.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        flush();
+        long lastId = 0;
+        int corrected = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM posts WHERE id > ? ORDER BY id LIMIT " + RECONCILE_BATCH_SIZE, Long.class, lastId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            long firstId = ids.get(0);
+            lastId = ids.get(ids.size() - 1);
+            corrected += reconcileRange(firstId, lastId);
+        }
+        logger.info("Reconciled interaction counters, {} posts corrected", corrected);
+    }
+
+    private int reconcileRange(long firstId, long lastId) {
+        Map<Long, long[]> actual = new HashMap<>();
+        // A like may be recorded in either table; UNION keeps one row per (post, user)
+        jdbcTemplate.query(
+            "SELECT t.post_id, COUNT(*) FROM (" +
+            "SELECT post_id, user_id FROM post_likes WHERE post_id BETWEEN ? AND ? " +
+            "UNION " +
+            "SELECT post_id, user_id FROM post_interactions " +
+            "WHERE interaction_type = 'LIKE' AND post_id BETWEEN ? AND ?" +
+            ") t GROUP BY t.post_id",
+            rs -> {
+                actual.computeIfAbsent(rs.getLong(1), id -> new long[3])[0] = rs.getLong(2);
+            },
+            firstId, lastId, firstId, lastId);
+        jdbcTemplate.query(
+            "SELECT post_id, interaction_type, COUNT(*) FROM post_interactions " +
+            "WHERE interaction_type IN ('FAVORITE', 'SHARE') AND post_id BETWEEN ? AND ? " +
+            "GROUP BY post_id, interaction_type",
+            rs -> {
+                int slot = "FAVORITE".equals(rs.getString(2)) ? 1 : 2;
+                actual.computeIfAbsent(rs.getLong(1), id -> new long[3])[slot] = rs.getLong(3);
+            },
+            firstId, lastId);
+
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query(
+            "SELECT id, like_count, favorite_count, share_count FROM posts WHERE id BETWEEN ? AND ?",
+            rs -> {
+                long postId = rs.getLong(1);
+                long[] counts = actual.getOrDefault(postId, new long[3]);
+                PendingCounts buffered = pending.get(postId);
+                long likes = counts[0] - (buffered == null ? 0 : buffered.likes.sum());
+                long favorites = counts[1] - (buffered == null ? 0 : buffered.favorites.sum());
+                long shares = counts[2] - (buffered == null ? 0 : buffered.shares.sum());
+                if (rs.getLong(2) != likes || rs.getLong(3) != favorites || rs.getLong(4) != shares
+                        || rs.getObject(2) == null || rs.getObject(3) == null || rs.getObject(4) == null) {
+                    updates.add(new Object[] {likes, favorites, shares, postId});
+                }
+            },
+            firstId, lastId);
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE posts SET like_count = ?, favorite_count = ?, share_count = ? WHERE id = ?", updates);
+        }
+        return updates.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static int clamp(long count) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, count));
+    }
+
+    private static final class PendingCounts {
+        private final LongAdder likes = new LongAdder();
+        private final LongAdder favorites = new LongAdder();
+        private final LongAdder shares = new LongAdder();
+
+        private LongAdder adder(InteractionType type) {
+            return switch (type) {
+                case LIKE -> likes;
+                case FAVORITE -> favorites;
+                case SHARE -> shares;
+            };
+        }
+    }
+}
@@ -3,11 +3,13 @@ package com.example.skill_sharing_backend.service.impl;
 
 
 import com.example.skill_sharing_backend.dto.LearningPlanDTO;
+import com.example.skill_sharing_backend.event.ContentChangedEvent;
 import com.example.skill_sharing_backend.model.LearningPlan;
 import com.example.skill_sharing_backend.repository.LearningPlanRepository;
 import com.example.skill_sharing_backend.repository.UserRepository;
 import com.example.skill_sharing_backend.service.LearningPlanService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -21,6 +23,9 @@ public class LearningPlanServiceImpl implements LearningPlanService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<LearningPlan> getAllPlans() {
         return planRepository.findAll();
@@ -34,7 +39,9 @@ public class LearningPlanServiceImpl implements LearningPlanService {
         plan.setResources(planDTO.getResources());
         plan.setTimeline(planDTO.getTimeline());
         plan.setUser(userRepository.findById(userId).orElseThrow());
-        return planRepository.save(plan);
+        LearningPlan saved = planRepository.save(plan);
+        publishChanged(saved.getId(), false);
+        return saved;
     }
 
     @Override
@@ -44,11 +51,18 @@ public class LearningPlanServiceImpl implements LearningPlanService {
         plan.setTopics(planDTO.getTopics());
         plan.setResources(planDTO.getResources());
         plan.setTimeline(planDTO.getTimeline());
-        return planRepository.save(plan);
+        LearningPlan saved = planRepository.save(plan);
+        publishChanged(id, false);
+        return saved;
     }
 
     @Override
     public void deletePlan(Long id) {
         planRepository.deleteById(id);
+        publishChanged(id, true);
+    }
+
+    private void publishChanged(Long id, boolean deleted) {
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Type.LEARNING_PLAN, id, deleted));
     }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.example.skill_sharing_backend.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.example.skill_sharing_backend.exception.MediaRejectedException;
+import com.example.skill_sharing_backend.model.MediaObject;
+import com.example.skill_sharing_backend.repository.MediaObjectRepository;
+import com.example.skill_sharing_backend.service.MediaService;
+import com.example.skill_sharing_backend.storage.MediaKind;
+import com.example.skill_sharing_backend.storage.MediaStore;
+import com.example.skill_sharing_backend.storage.MediaTypeSniffer;
+import com.example.skill_sharing_backend.storage.StoredMedia;
+
+@Service
+public class MediaServiceImpl implements MediaService {
+    private static final Logger logger = LoggerFactory.getLogger(MediaServiceImpl.class);
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    private MediaObjectRepository mediaObjectRepository;
+
+    @Value("${media.upload.max-image-size:10MB}")
+    private DataSize maxImageSize;
+
+    @Value("${media.upload.max-video-size:200MB}")
+    private DataSize maxVideoSize;
+
+    @Override
+    public MediaObject store(InputStream content, MediaKind kind) throws IOException {
+        // Sniff the type from the first bytes, then push them back so the store sees the whole stream
+        PushbackInputStream in = new PushbackInputStream(content, MediaTypeSniffer.HEADER_LENGTH);
+        byte[] head = in.readNBytes(MediaTypeSniffer.HEADER_LENGTH);
+        in.unread(head);
+        String contentType = MediaTypeSniffer.sniff(head, head.length);
+        if (!kind.accepts(contentType)) {
+            throw new MediaRejectedException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                "Unsupported " + kind.name().toLowerCase() + " format");
+        }
+
+        StoredMedia stored = mediaStore.put(in, maxUploadSize(kind));
+
+        // Identical content already has a row; reuse it instead of inserting a duplicate
+        Optional<MediaObject> existing = mediaObjectRepository.findById(stored.getKey());
+        if (existing.isPresent()) {
+            logger.debug("Deduplicated upload onto existing media {}", stored.getKey());
+            return existing.get();
+        }
+
+        MediaObject media = new MediaObject();
+        media.setKey(stored.getKey());
+        media.setSize(stored.getSize());
+        media.setContentType(contentType);
+        try {
+            return mediaObjectRepository.save(media);
+        } catch (DataIntegrityViolationException e) {
+            // An identical upload registered the same key concurrently
+            return mediaObjectRepository.findById(stored.getKey()).orElseThrow(() -> e);
+        }
+    }
+
+    @Override
+    public long maxUploadSize(MediaKind kind) {
+        return (kind == MediaKind.VIDEO ? maxVideoSize : maxImageSize).toBytes();
+    }
+
+    @Override
+    public Optional<MediaObject> find(String key) {
+        return mediaObjectRepository.findById(key);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return mediaStore.open(key);
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return mediaStore.size(key);
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+        return mediaStore.localFile(key);
+    }
+}
@@ -3,15 +3,22 @@ package com.example.skill_sharing_backend.service.impl;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.example.skill_sharing_backend.model.Comment;
+import com.example.skill_sharing_backend.cache.UnreadCountCache;
+import com.example.skill_sharing_backend.event.UnreadCountChangedEvent;
 import com.example.skill_sharing_backend.model.Notification;
-import com.example.skill_sharing_backend.model.Post;
-import com.example.skill_sharing_backend.model.User;
+import com.example.skill_sharing_backend.model.NotificationType;
+import com.example.skill_sharing_backend.notification.NotificationPushRegistry;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.example.skill_sharing_backend.pagination.KeysetCursor;
 import com.example.skill_sharing_backend.repository.CommentRepository;
 import com.example.skill_sharing_backend.repository.NotificationRepository;
+import com.example.skill_sharing_backend.repository.NotificationSummary;
 import com.example.skill_sharing_backend.repository.PostRepository;
 import com.example.skill_sharing_backend.repository.UserRepository;
 import com.example.skill_sharing_backend.service.NotificationService;
@@ -31,38 +38,57 @@ public class NotificationServiceImpl implements NotificationService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private NotificationPushRegistry pushRegistry;
+
+    @Autowired
+    private UnreadCountCache unreadCountCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<Notification> getNotificationsForUser(Long userId) {
         return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
+    @Override
+    public CursorPage<NotificationSummary> getNotifications(Long userId, String cursor, int size, boolean unreadOnly) {
+        int pageSize = CursorPage.clampSize(size);
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<NotificationSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = unreadOnly
+                ? notificationRepository.findUnreadSummariesHead(userId, window)
+                : notificationRepository.findSummariesHead(userId, window);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = unreadOnly
+                ? notificationRepository.findUnreadSummariesAfter(userId, after.getTimestamp(), after.getId(), window)
+                : notificationRepository.findSummariesAfter(userId, after.getTimestamp(), after.getId(), window);
+        }
+        return CursorPage.of(rows, pageSize, row -> KeysetCursor.encode(row.getCreatedAt(), row.getId()));
+    }
+
     @Override
     @Transactional
     public Notification createCommentNotification(Long userId, Long commenterId, Long postId, Long commentId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        User commenter = userRepository.findById(commenterId)
-                .orElseThrow(() -> new RuntimeException("Commenter not found"));
-        
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
-        
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
-
         // Don't create notification if user is commenting on their own post
         if (userId.equals(commenterId)) {
             return null;
         }
 
+        // References only: the foreign keys are enforced by the insert, no need to load four rows first
         Notification notification = new Notification();
-        notification.setUser(user);
-        notification.setCommenter(commenter);
-        notification.setPost(post);
-        notification.setComment(comment);
+        notification.setUser(userRepository.getReferenceById(userId));
+        notification.setCommenter(userRepository.getReferenceById(commenterId));
+        notification.setPost(postRepository.getReferenceById(postId));
+        notification.setComment(commentRepository.getReferenceById(commentId));
+        notification.setType(NotificationType.COMMENT);
 
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        eventPublisher.publishEvent(new UnreadCountChangedEvent(userId, 1));
+        return saved;
     }
 
     @Override
@@ -70,13 +96,47 @@ public class NotificationServiceImpl implements NotificationService {
     public void markAsRead(Long notificationId) {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
-        notification.setRead(true);
-        notificationRepository.save(notification);
+        // Only the call that actually flipped the row moves the unread count
+        if (notificationRepository.markAsRead(notificationId) == 1) {
+            eventPublisher.publishEvent(new UnreadCountChangedEvent(notification.getUser().getId(), -1));
+        }
+    }
+
+    @Override
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsRead(userId);
+        if (updated > 0) {
+            eventPublisher.publishEvent(new UnreadCountChangedEvent(userId, -updated));
+        }
+        return updated;
+    }
+
+    @Override
+    public long getUnreadCount(Long userId) {
+        return unreadCountCache.get(userId, notificationRepository::countByUserIdAndReadFalse);
     }
 
     @Override
     @Transactional
     public void deleteNotification(Long notificationId) {
-        notificationRepository.deleteById(notificationId);
+        notificationRepository.findById(notificationId).ifPresent(notification -> {
+            notificationRepository.delete(notification);
+            if (!notification.isRead()) {
+                eventPublisher.publishEvent(new UnreadCountChangedEvent(notification.getUser().getId(), -1));
+            }
+        });
+    }
+
+    // Only read notifications go, so the unread count is unchanged
+    @Override
+    @Transactional
+    public int deleteRead(Long userId) {
+        return notificationRepository.deleteReadByUserId(userId);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId) {
+        return pushRegistry.subscribe(userId, getUnreadCount(userId));
     }
 } 
\ No newline at end of file
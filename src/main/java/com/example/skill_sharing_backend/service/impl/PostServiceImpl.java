@@ -1,28 +1,51 @@
 package com.example.skill_sharing_backend.service.impl;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.skill_sharing_backend.cache.FeedCache;
+import com.example.skill_sharing_backend.dto.CommentDTO;
 import com.example.skill_sharing_backend.dto.PostDTO;
+import com.example.skill_sharing_backend.dto.PostFeedDetails;
+import com.example.skill_sharing_backend.dto.PostFeedItem;
+import com.example.skill_sharing_backend.event.NotificationEvent;
+import com.example.skill_sharing_backend.event.PostChangedEvent;
 import com.example.skill_sharing_backend.model.Post;
-import com.example.skill_sharing_backend.model.PostInteraction;
 import com.example.skill_sharing_backend.model.PostInteraction.InteractionType;
-import com.example.skill_sharing_backend.model.PostLike;
 import com.example.skill_sharing_backend.model.User;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.example.skill_sharing_backend.pagination.KeysetCursor;
+import com.example.skill_sharing_backend.repository.CommentRepository;
+import com.example.skill_sharing_backend.repository.PostInteractionFlags;
 import com.example.skill_sharing_backend.repository.PostInteractionRepository;
 import com.example.skill_sharing_backend.repository.PostLikeRepository;
 import com.example.skill_sharing_backend.repository.PostRepository;
+import com.example.skill_sharing_backend.repository.PostUserLink;
 import com.example.skill_sharing_backend.repository.UserRepository;
+import com.example.skill_sharing_backend.service.InteractionCounterService;
+import com.example.skill_sharing_backend.service.MediaService;
 import com.example.skill_sharing_backend.service.PostService;
+import com.example.skill_sharing_backend.service.RenditionService;
+import com.example.skill_sharing_backend.storage.MediaKind;
+import com.example.skill_sharing_backend.storage.MediaSlot;
+
+import jakarta.persistence.EntityNotFoundException;
 
 @Service
 @Transactional
@@ -41,39 +64,29 @@ public class PostServiceImpl implements PostService {
     @Autowired
     private PostLikeRepository postLikeRepository;
 
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private InteractionCounterService interactionCounterService;
+
+    @Autowired
+    private FeedCache feedCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private RenditionService renditionService;
+
     @Override
     @Transactional(readOnly = true)
-    public List<Post> getAllPosts() {
+    public List<PostFeedItem> getAllPosts() {
         try {
-            List<Post> posts = (List<Post>) postRepository.findAllByOrderByCreatedAtDesc();
-            List<Post> validPosts = new ArrayList<>();
-            
-            for (Post post : posts) {
-                try {
-                    // Initialize user eagerly
-                    if (post.getUser() == null) {
-                        logger.warn("Post {} has no associated user, skipping", post.getId());
-                        continue;
-                    }
-                    
-                    // Initialize collections safely
-                    post.setLikedBy(new ArrayList<>(post.getLikedBy()));
-                    post.setFavoritedBy(new ArrayList<>(post.getFavoritedBy()));
-                    post.setSharedBy(new ArrayList<>(post.getSharedBy()));
-                    post.setComments(new ArrayList<>(post.getComments()));
-                    
-                    // Initialize counts safely
-                    post.setLikeCount(post.getLikedBy().size());
-                    post.setFavoriteCount(post.getFavoritedBy().size());
-                    post.setShareCount(post.getSharedBy().size());
-                    
-                    validPosts.add(post);
-                } catch (Exception e) {
-                    logger.error("Error initializing post {}: {}", post.getId(), e.getMessage());
-                }
-            }
-            
-            return validPosts;
+            return interactionCounterService.withPendingCounts(feedCache.getAllPosts(postRepository::findFeedItems));
         } catch (Exception e) {
             logger.error("Error in getAllPosts: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to fetch posts: " + e.getMessage(), e);
@@ -81,7 +94,58 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public CursorPage<PostFeedItem> getFeedPage(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        CursorPage<PostFeedItem> page = feedCache.getPage(cursor, pageSize, () -> loadFeedPage(cursor, pageSize));
+        return new CursorPage<>(interactionCounterService.withPendingCounts(page.getItems()), page.getNextCursor());
+    }
+
+    private CursorPage<PostFeedItem> loadFeedPage(String cursor, int pageSize) {
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<PostFeedItem> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = postRepository.findFeedHead(window);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            posts = postRepository.findFeedAfter(after.getTimestamp(), after.getId(), window);
+        }
+        return CursorPage.of(posts, pageSize, post -> KeysetCursor.encode(post.createdAt(), post.id()));
+    }
+
+    // Four statements for the whole page, however many posts it holds
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, PostFeedDetails> getFeedDetails(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<Long>> likedBy = groupUserIds(postRepository.findLikedByLinks(postIds));
+        Map<Long, List<Long>> favoritedBy = groupUserIds(postRepository.findFavoritedByLinks(postIds));
+        Map<Long, List<Long>> sharedBy = groupUserIds(postRepository.findSharedByLinks(postIds));
+        Map<Long, List<CommentDTO>> comments = commentRepository.findDtosByPostIdIn(postIds).stream()
+            .collect(Collectors.groupingBy(CommentDTO::getPostId));
+
+        Map<Long, PostFeedDetails> details = new HashMap<>();
+        for (Long postId : postIds) {
+            details.put(postId, new PostFeedDetails(
+                likedBy.getOrDefault(postId, List.of()),
+                favoritedBy.getOrDefault(postId, List.of()),
+                sharedBy.getOrDefault(postId, List.of()),
+                comments.getOrDefault(postId, List.of())));
+        }
+        return details;
+    }
+
+    private Map<Long, List<Long>> groupUserIds(List<PostUserLink> links) {
+        return links.stream().collect(Collectors.groupingBy(PostUserLink::getPostId,
+            Collectors.mapping(PostUserLink::getUserId, Collectors.toList())));
+    }
+
+    // Uploads are streamed to the media store before any transaction opens, so a slow
+    // client never pins a pooled connection; the post row is saved in its own transaction
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Post createPost(PostDTO postDTO, List<MultipartFile> images, MultipartFile video, Long userId) {
         logger.info("Creating post with title: '{}' for user: {}", postDTO.getTitle(), userId);
         
@@ -101,16 +165,16 @@ public class PostServiceImpl implements PostService {
             for (MultipartFile image : images) {
                 if (image != null && !image.isEmpty()) {
                     try {
-                        byte[] imageBytes = image.getBytes();
+                        String mediaKey = storeMedia(image, MediaKind.IMAGE);
                         switch (imageCount) {
                             case 0:
-                                post.setImage1(imageBytes);
+                                post.setImage1Key(mediaKey);
                                 break;
                             case 1:
-                                post.setImage2(imageBytes);
+                                post.setImage2Key(mediaKey);
                                 break;
                             case 2:
-                                post.setImage3(imageBytes);
+                                post.setImage3Key(mediaKey);
                                 break;
                             default:
                                 logger.warn("Ignoring additional image as maximum of 3 images is supported");
@@ -131,7 +195,7 @@ public class PostServiceImpl implements PostService {
         if (video != null && !video.isEmpty()) {
             try {
                 logger.info("Processing video: {}", video.getOriginalFilename());
-                post.setVideo(video.getBytes());
+                post.setVideoKey(storeMedia(video, MediaKind.VIDEO));
                 logger.debug("Successfully processed video: {}", video.getOriginalFilename());
             } catch (IOException e) {
                 logger.error("Failed to process video {}: {}", video.getOriginalFilename(), e.getMessage());
@@ -140,16 +204,52 @@ public class PostServiceImpl implements PostService {
         }
         
         Post savedPost = postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(savedPost.getId(), userId, PostChangedEvent.Type.CREATED));
         logger.info("Successfully created post with ID: {}", savedPost.getId());
         return savedPost;
     }
 
+    private String storeMedia(MultipartFile file, MediaKind kind) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            String mediaKey = mediaService.store(in, kind).getKey();
+            if (kind == MediaKind.IMAGE) {
+                renditionService.requestRenditions(mediaKey);
+            }
+            return mediaKey;
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<String> attachMedia(Long postId, Long userId, MediaSlot slot, InputStream content) throws IOException {
+        Long ownerId = postRepository.findOwnerIdById(postId)
+            .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + postId));
+        if (!ownerId.equals(userId)) {
+            logger.warn("User {} attempted to upload media to post {} owned by user {}", userId, postId, ownerId);
+            return Optional.empty();
+        }
+
+        String mediaKey = mediaService.store(content, slot.kind()).getKey();
+        if (slot.kind() == MediaKind.IMAGE) {
+            renditionService.requestRenditions(mediaKey);
+        }
+
+        Post post = postRepository.findById(postId)
+            .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + postId));
+        slot.assign(post, mediaKey);
+        postRepository.save(post);
+        logger.info("Attached {} media {} to post {}", slot.path(), mediaKey, postId);
+        return Optional.of(mediaKey);
+    }
+
     @Override
     public Post updatePost(Long id, PostDTO postDTO) {
         Post post = postRepository.findById(id).orElseThrow();
         post.setTitle(postDTO.getTitle());
         post.setDescription(postDTO.getDescription());
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(id, post.getUser().getId(), PostChangedEvent.Type.UPDATED));
+        return savedPost;
     }
 
     @Override
@@ -175,6 +275,7 @@ public class PostServiceImpl implements PostService {
             
             // Now delete the post
             postRepository.delete(post);
+            eventPublisher.publishEvent(new PostChangedEvent(id, userId, PostChangedEvent.Type.DELETED));
             logger.info("Successfully deleted post {} by user {}", id, userId);
             return true;
         } catch (Exception e) {
@@ -183,28 +284,18 @@ public class PostServiceImpl implements PostService {
         }
     }
 
+    // One statement per toggle: the table's unique key makes repeats no-ops, and counters only
+    // move on a real transition. Counters are written behind by InteractionCounterService.
     @Override
     @Transactional
-    public Post likePost(Long id, Long userId) {
+    public boolean likePost(Long id, Long userId) {
         try {
-            Post post = postRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Post not found with ID: " + id));
-            User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
-
-            // Check if already liked
-            if (!postLikeRepository.existsByPostIdAndUserId(id, userId)) {
-                PostLike postLike = new PostLike();
-                postLike.setPost(post);
-                postLike.setUser(user);
-                postLikeRepository.save(postLike);
-
-                // Update post like count
-                post.setLikeCount(post.getLikeCount() + 1);
-                post.getLikedBy().add(user);
-                return postRepository.save(post);
+            boolean changed = postLikeRepository.insertIfAbsent(id, userId) > 0;
+            if (changed) {
+                interactionCounterService.record(id, InteractionType.LIKE, 1);
+                eventPublisher.publishEvent(NotificationEvent.like(id, userId));
             }
-            return post;
+            return changed;
         } catch (Exception e) {
             logger.error("Error liking post {}: {}", id, e.getMessage(), e);
             throw new RuntimeException("Failed to like post: " + e.getMessage(), e);
@@ -213,23 +304,13 @@ public class PostServiceImpl implements PostService {
 
     @Override
     @Transactional
-    public Post unlikePost(Long id, Long userId) {
+    public boolean unlikePost(Long id, Long userId) {
         try {
-            Post post = postRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Post not found with ID: " + id));
-            User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
-
-            // Check if liked
-            if (postLikeRepository.existsByPostIdAndUserId(id, userId)) {
-                postLikeRepository.deleteByPostIdAndUserId(id, userId);
-
-                // Update post like count
-                post.setLikeCount(Math.max(0, post.getLikeCount() - 1));
-                post.getLikedBy().remove(user);
-                return postRepository.save(post);
+            boolean changed = postLikeRepository.deleteLike(id, userId) > 0;
+            if (changed) {
+                interactionCounterService.record(id, InteractionType.LIKE, -1);
             }
-            return post;
+            return changed;
         } catch (Exception e) {
             logger.error("Error unliking post {}: {}", id, e.getMessage(), e);
             throw new RuntimeException("Failed to unlike post: " + e.getMessage(), e);
@@ -238,80 +319,36 @@ public class PostServiceImpl implements PostService {
 
     @Override
     @Transactional
-    public Post favoritePost(Long id, Long userId) {
+    public boolean favoritePost(Long id, Long userId) {
         return handleInteraction(id, userId, InteractionType.FAVORITE, true);
     }
 
     @Override
     @Transactional
-    public Post unfavoritePost(Long id, Long userId) {
+    public boolean unfavoritePost(Long id, Long userId) {
         return handleInteraction(id, userId, InteractionType.FAVORITE, false);
     }
 
     @Override
     @Transactional
-    public Post sharePost(Long id, Long userId) {
+    public boolean sharePost(Long id, Long userId) {
         return handleInteraction(id, userId, InteractionType.SHARE, true);
     }
 
     @Override
     @Transactional
-    public Post unsharePost(Long id, Long userId) {
+    public boolean unsharePost(Long id, Long userId) {
         return handleInteraction(id, userId, InteractionType.SHARE, false);
     }
 
-    private Post handleInteraction(Long postId, Long userId, InteractionType type, boolean add) {
-        Post post = postRepository.findById(postId).orElseThrow();
-        User user = userRepository.findById(userId).orElseThrow();
-
-        if (add) {
-            if (!postInteractionRepository.existsByUserIdAndPostIdAndInteractionType(userId, postId, type)) {
-                PostInteraction interaction = new PostInteraction();
-                interaction.setPost(post);
-                interaction.setUser(user);
-                interaction.setInteractionType(type);
-                postInteractionRepository.save(interaction);
-
-                // Update counts
-                switch (type) {
-                    case LIKE -> {
-                        post.setLikeCount(post.getLikeCount() + 1);
-                        post.getLikedBy().add(user);
-                    }
-                    case FAVORITE -> {
-                        post.setFavoriteCount(post.getFavoriteCount() + 1);
-                        post.getFavoritedBy().add(user);
-                    }
-                    case SHARE -> {
-                        post.setShareCount(post.getShareCount() + 1);
-                        post.getSharedBy().add(user);
-                    }
-                }
-            }
-        } else {
-            postInteractionRepository.findByUserIdAndPostIdAndInteractionType(userId, postId, type)
-                .ifPresent(interaction -> {
-                    postInteractionRepository.delete(interaction);
-
-                    // Update counts
-                    switch (type) {
-                        case LIKE -> {
-                            post.setLikeCount(Math.max(0, post.getLikeCount() - 1));
-                            post.getLikedBy().remove(user);
-                        }
-                        case FAVORITE -> {
-                            post.setFavoriteCount(Math.max(0, post.getFavoriteCount() - 1));
-                            post.getFavoritedBy().remove(user);
-                        }
-                        case SHARE -> {
-                            post.setShareCount(Math.max(0, post.getShareCount() - 1));
-                            post.getSharedBy().remove(user);
-                        }
-                    }
-                });
+    private boolean handleInteraction(Long postId, Long userId, InteractionType type, boolean add) {
+        boolean changed = add
+            ? postInteractionRepository.insertIfAbsent(userId, postId, type.name()) > 0
+            : postInteractionRepository.deleteInteraction(userId, postId, type) > 0;
+        if (changed) {
+            interactionCounterService.record(postId, type, add ? 1 : -1);
         }
-
-        return postRepository.save(post);
+        return changed;
     }
 
     @Override
@@ -347,36 +384,34 @@ public class PostServiceImpl implements PostService {
         return postInteractionRepository.existsByUserIdAndPostIdAndInteractionType(userId, postId, InteractionType.SHARE);
     }
 
+    // One round trip for the whole page; posts the viewer never touched are absent (InteractionFlags.NONE)
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getViewerFlags(Long viewerId, List<Long> postIds) {
+        if (viewerId == null || postIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Integer> flags = new HashMap<>();
+        for (PostInteractionFlags row : postInteractionRepository.findViewerFlags(viewerId, postIds)) {
+            flags.put(row.getPostId(), row.getFlags());
+        }
+        return flags;
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<Post> getPostsByUserId(Long userId) {
+    public List<PostFeedItem> getPostsByUserId(Long userId) {
         try {
-            List<Post> posts = postRepository.findByUserIdOrderByCreatedAtDesc(userId);
-            List<Post> validPosts = new ArrayList<>();
-            
-            for (Post post : posts) {
-                try {
-                    // Initialize collections safely
-                    post.setLikedBy(new ArrayList<>(post.getLikedBy()));
-                    post.setFavoritedBy(new ArrayList<>(post.getFavoritedBy()));
-                    post.setSharedBy(new ArrayList<>(post.getSharedBy()));
-                    post.setComments(new ArrayList<>(post.getComments()));
-                    
-                    // Initialize counts safely
-                    post.setLikeCount(post.getLikedBy().size());
-                    post.setFavoriteCount(post.getFavoritedBy().size());
-                    post.setShareCount(post.getSharedBy().size());
-                    
-                    validPosts.add(post);
-                } catch (Exception e) {
-                    logger.error("Error initializing post {}: {}", post.getId(), e.getMessage());
-                }
-            }
-            
-            return validPosts;
+            return interactionCounterService.withPendingCounts(postRepository.findFeedItemsByUserId(userId));
         } catch (Exception e) {
             logger.error("Error in getPostsByUserId: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to fetch posts for user: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getMediaKey(Long postId, MediaSlot slot) {
+        return postRepository.findMediaKeysById(postId).map(slot::keyOf);
+    }
+}
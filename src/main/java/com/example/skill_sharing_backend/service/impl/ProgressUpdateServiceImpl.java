@@ -4,9 +4,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.example.skill_sharing_backend.dto.ProgressUpdateDTO;
+import com.example.skill_sharing_backend.event.ContentChangedEvent;
 import com.example.skill_sharing_backend.model.ProgressUpdate;
 import com.example.skill_sharing_backend.repository.ProgressUpdateRepository;
 import com.example.skill_sharing_backend.repository.UserRepository;
@@ -21,6 +23,9 @@ public class ProgressUpdateServiceImpl implements ProgressUpdateService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<ProgressUpdate> getAllUpdates() {
         return updateRepository.findAll();
@@ -33,7 +38,9 @@ public class ProgressUpdateServiceImpl implements ProgressUpdateService {
         update.setTemplateType(updateDTO.getTemplateType());
         update.setUser(userRepository.findById(userId).orElseThrow());
         update.setCreatedAt(LocalDateTime.now());
-        return updateRepository.save(update);
+        ProgressUpdate saved = updateRepository.save(update);
+        publishChanged(saved.getId(), false);
+        return saved;
     }
 
     @Override
@@ -48,7 +55,9 @@ public class ProgressUpdateServiceImpl implements ProgressUpdateService {
 
         update.setContent(updateDTO.getContent());
         update.setTemplateType(updateDTO.getTemplateType());
-        return updateRepository.save(update);
+        ProgressUpdate saved = updateRepository.save(update);
+        publishChanged(id, false);
+        return saved;
     }
 
     @Override
@@ -62,5 +71,10 @@ public class ProgressUpdateServiceImpl implements ProgressUpdateService {
         }
 
         updateRepository.delete(update);
+        publishChanged(id, true);
+    }
+
+    private void publishChanged(Long id, boolean deleted) {
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Type.PROGRESS_UPDATE, id, deleted));
     }
 }
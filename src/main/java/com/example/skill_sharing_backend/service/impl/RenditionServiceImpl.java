@@ -0,0 +1,239 @@
+package com.example.skill_sharing_backend.service.impl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.example.skill_sharing_backend.service.RenditionService;
+import com.example.skill_sharing_backend.storage.MediaStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Derives downscaled JPEG renditions of post images on a small bounded pool.
+ * Each rendition is written next to its original as {@code <key>.w<width>} and
+ * a {@code <key>.done} marker is written last. Derivation is therefore
+ * idempotent: a run that dies halfway is simply redone for the missing widths
+ * the next time the image is requested.
+ */
+@Service
+public class RenditionServiceImpl implements RenditionService {
+    private static final Logger logger = LoggerFactory.getLogger(RenditionServiceImpl.class);
+    private static final String DONE_MARKER = "done";
+    private static final long MAX_SOURCE_PIXELS = 100_000_000L;
+    private static final int MAX_KNOWN_ENTRIES = 10_000;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Value("${media.renditions.widths:320,640,1280}")
+    private int[] widths;
+
+    @Value("${media.renditions.threads:2}")
+    private int threads;
+
+    @Value("${media.renditions.queue-capacity:200}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Rendition widths already on disk per media key, so feed rendering does not stat files every time
+    private final Map<String, int[]> knownRenditions = Collections.synchronizedMap(
+        new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                return size() > MAX_KNOWN_ENTRIES;
+            }
+        });
+
+    @PostConstruct
+    public void init() {
+        widths = Arrays.stream(widths).sorted().distinct().toArray();
+        ImageIO.setUseCache(false);
+        // Overflow is dropped rather than run on the caller: a skipped rendition is regenerated on next request
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("rendition-"),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public void requestRenditions(String mediaKey) {
+        if (mediaKey == null || !inFlight.add(mediaKey)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    deriveRenditions(mediaKey);
+                } finally {
+                    inFlight.remove(mediaKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(mediaKey);
+            logger.debug("Rendition queue full, deferring {}", mediaKey);
+        }
+    }
+
+    @Override
+    public OptionalInt bestFitWidth(String mediaKey, int displayWidth) {
+        int[] available = availableWidths(mediaKey);
+        if (available == null) {
+            // Not derived yet (e.g. a post from before renditions existed): derive lazily, serve the original meanwhile
+            requestRenditions(mediaKey);
+            return OptionalInt.empty();
+        }
+        for (int width : available) {
+            if (width >= displayWidth) {
+                return OptionalInt.of(width);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    @Override
+    public Optional<String> renditionKey(String mediaKey, int width) {
+        String key = MediaStore.variantKey(mediaKey, "w" + width);
+        if (mediaStore.exists(key)) {
+            return Optional.of(key);
+        }
+        requestRenditions(mediaKey);
+        return Optional.empty();
+    }
+
+    private int[] availableWidths(String mediaKey) {
+        int[] known = knownRenditions.get(mediaKey);
+        if (known != null) {
+            return known;
+        }
+        if (!mediaStore.exists(MediaStore.variantKey(mediaKey, DONE_MARKER))) {
+            return null;
+        }
+        int[] available = Arrays.stream(widths)
+            .filter(width -> mediaStore.exists(MediaStore.variantKey(mediaKey, "w" + width)))
+            .toArray();
+        knownRenditions.put(mediaKey, available);
+        return available;
+    }
+
+    private void deriveRenditions(String mediaKey) {
+        try {
+            int[] missing = Arrays.stream(widths)
+                .filter(width -> !mediaStore.exists(MediaStore.variantKey(mediaKey, "w" + width)))
+                .toArray();
+            if (missing.length > 0) {
+                DecodedImage source = decode(mediaKey, missing[missing.length - 1]);
+                if (source != null) {
+                    for (int width : missing) {
+                        // Never upscale; the original already is the best fit for wider displays
+                        if (source.originalWidth > width) {
+                            writeRendition(mediaKey, source.image, width);
+                        }
+                    }
+                }
+            }
+            mediaStore.putVariant(MediaStore.variantKey(mediaKey, DONE_MARKER), InputStream.nullInputStream());
+            knownRenditions.remove(mediaKey);
+            logger.debug("Renditions ready for {}", mediaKey);
+        } catch (Exception e) {
+            logger.warn("Failed to derive renditions for {}: {}", mediaKey, e.getMessage());
+        }
+    }
+
+    /**
+     * Decodes with source subsampling so a large photo never materialises at
+     * full resolution when only a thumbnail is needed.
+     */
+    private DecodedImage decode(String mediaKey, int largestWidth) throws IOException {
+        try (InputStream in = mediaStore.open(mediaKey);
+             ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                logger.debug("No decoder for media {}, skipping renditions", mediaKey);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    logger.warn("Media {} is {}x{}, too large to derive renditions", mediaKey, width, height);
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int factor = Math.max(1, width / (largestWidth * 2));
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return new DecodedImage(reader.read(0, param), width);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeRendition(String mediaKey, BufferedImage source, int width) throws IOException {
+        int height = Math.max(1, Math.round(source.getHeight() * (float) width / source.getWidth()));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE); // flatten transparency for JPEG
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(target, "jpg", out);
+        mediaStore.putVariant(MediaStore.variantKey(mediaKey, "w" + width), new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static final class DecodedImage {
+        private final BufferedImage image;
+        private final int originalWidth;
+
+        private DecodedImage(BufferedImage image, int originalWidth) {
+            this.image = image;
+            this.originalWidth = originalWidth;
+        }
+    }
+}
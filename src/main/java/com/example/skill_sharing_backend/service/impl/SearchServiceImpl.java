@@ -0,0 +1,226 @@
+package com.example.skill_sharing_backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.skill_sharing_backend.event.ContentChangedEvent;
+import com.example.skill_sharing_backend.event.PostChangedEvent;
+import com.example.skill_sharing_backend.search.FullTextIndex;
+import com.example.skill_sharing_backend.search.SearchDocument;
+import com.example.skill_sharing_backend.search.SearchDocumentType;
+import com.example.skill_sharing_backend.search.SearchResults;
+import com.example.skill_sharing_backend.service.SearchService;
+
+/**
+ * Keeps the full-text index in step with posts, progress updates and learning
+ * plans. Single rows are re-read and re-indexed after each committed write; a
+ * full reindex splits every table into id ranges and indexes them on
+ * search.reindex.threads workers sharing one IndexWriter. Rows written while
+ * a reindex runs are noted and re-read once the workers finish, so a worker
+ * that read a range before a delete or edit cannot leave the stale document
+ * behind. A rebuild that fails part way is rolled back, so searches keep the
+ * previous index rather than a truncated one.
+ */
+@Service
+public class SearchServiceImpl implements SearchService, ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SearchServiceImpl.class);
+    private static final long REINDEX_BATCH = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FullTextIndex fullTextIndex;
+
+    @Value("${search.reindex.threads:4}")
+    private int reindexThreads;
+
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+    private final Set<DocumentKey> changedDuringReindex = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (fullTextIndex.isEmpty()) {
+            startReindex();
+        }
+    }
+
+    @Override
+    public SearchResults search(String query, SearchDocumentType type, int page, int size) {
+        return fullTextIndex.search(query, type, page, size);
+    }
+
+    @Override
+    public boolean startReindex() {
+        if (!reindexing.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread worker = new Thread(this::rebuild, "search-reindex");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    @Override
+    public void reindexAll() {
+        if (reindexing.compareAndSet(false, true)) {
+            rebuild();
+        }
+    }
+
+    // Runs with the reindexing flag already claimed; the index is only published when every batch succeeded
+    private void rebuild() {
+        boolean complete = false;
+        long start = System.nanoTime();
+        AtomicLong indexed = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, reindexThreads));
+        try {
+            fullTextIndex.beginBulk();
+            fullTextIndex.deleteAll();
+            List<Future<?>> batches = new ArrayList<>();
+            for (SearchDocumentType type : SearchDocumentType.values()) {
+                Long[] bounds = jdbcTemplate.queryForObject(
+                    "SELECT MIN(id), MAX(id) FROM " + table(type),
+                    (rs, rowNum) -> new Long[] {rs.getObject(1, Long.class), rs.getObject(2, Long.class)});
+                if (bounds == null || bounds[0] == null) {
+                    continue;
+                }
+                for (long from = bounds[0]; from <= bounds[1]; from += REINDEX_BATCH) {
+                    long first = from;
+                    long last = from + REINDEX_BATCH - 1;
+                    batches.add(workers.submit(() -> {
+                        for (SearchDocument doc : jdbcTemplate.query(
+                                select(type) + " WHERE id BETWEEN ? AND ?", mapper(type), first, last)) {
+                            fullTextIndex.upsert(doc);
+                            indexed.incrementAndGet();
+                        }
+                    }));
+                }
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+            complete = true;
+            logger.info("Reindexed {} documents in {} ms", indexed.get(), (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Search reindex interrupted");
+        } catch (Exception e) {
+            logger.error("Search reindex failed: {}", e.getMessage(), e);
+        } finally {
+            workers.shutdownNow();
+            finish(workers, complete);
+        }
+    }
+
+    private void finish(ExecutorService workers, boolean complete) {
+        try {
+            if (!complete) {
+                // No batch may write into the reopened index
+                if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                    logger.warn("Search reindex workers still running after the rebuild was abandoned");
+                }
+                fullTextIndex.abortBulk();
+                logger.warn("Search reindex rolled back; searches keep the previous index");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fullTextIndex.abortBulk();
+        } finally {
+            reindexing.set(false);
+            // Writes from here on are indexed directly, so the noted set is final; a rollback also lost these
+            recheckChanged();
+            if (complete) {
+                fullTextIndex.endBulk();
+            }
+        }
+    }
+
+    private void recheckChanged() {
+        for (DocumentKey key : changedDuringReindex) {
+            changedDuringReindex.remove(key);
+            refresh(key.type(), key.id(), false);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.type() == PostChangedEvent.Type.COMMENTED) {
+            return;
+        }
+        refresh(SearchDocumentType.POST, event.postId(), event.type() == PostChangedEvent.Type.DELETED);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        SearchDocumentType type = event.type() == ContentChangedEvent.Type.PROGRESS_UPDATE
+            ? SearchDocumentType.PROGRESS_UPDATE
+            : SearchDocumentType.LEARNING_PLAN;
+        refresh(type, event.id(), event.deleted());
+    }
+
+    // Failures are logged rather than thrown: the write has already committed and the next reindex repairs the gap
+    private void refresh(SearchDocumentType type, Long id, boolean deleted) {
+        if (reindexing.get()) {
+            changedDuringReindex.add(new DocumentKey(type, id));
+        }
+        try {
+            if (deleted) {
+                fullTextIndex.delete(type, id);
+                return;
+            }
+            List<SearchDocument> docs = jdbcTemplate.query(select(type) + " WHERE id = ?", mapper(type), id);
+            if (docs.isEmpty()) {
+                fullTextIndex.delete(type, id);
+            } else {
+                fullTextIndex.upsert(docs.get(0));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to index {} {}: {}", type, id, e.getMessage());
+        }
+    }
+
+    private record DocumentKey(SearchDocumentType type, Long id) {
+    }
+
+    private static String table(SearchDocumentType type) {
+        return switch (type) {
+            case POST -> "posts";
+            case PROGRESS_UPDATE -> "progress_updates";
+            case LEARNING_PLAN -> "learning_plans";
+        };
+    }
+
+    // Each query yields id, user_id, title, body
+    private static String select(SearchDocumentType type) {
+        return switch (type) {
+            case POST -> "SELECT id, user_id, title, description FROM posts";
+            case PROGRESS_UPDATE -> "SELECT id, user_id, template_type, content FROM progress_updates";
+            case LEARNING_PLAN -> "SELECT id, user_id, title, CONCAT_WS(' ', topics, resources, timeline) FROM learning_plans";
+        };
+    }
+
+    private static RowMapper<SearchDocument> mapper(SearchDocumentType type) {
+        return (rs, rowNum) -> new SearchDocument(
+            type, rs.getLong(1), rs.getObject(2, Long.class), rs.getString(3), rs.getString(4));
+    }
+}
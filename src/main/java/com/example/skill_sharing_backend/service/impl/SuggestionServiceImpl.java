@@ -0,0 +1,258 @@
+package com.example.skill_sharing_backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.skill_sharing_backend.dto.UserSuggestion;
+import com.example.skill_sharing_backend.event.FollowChangedEvent;
+import com.example.skill_sharing_backend.graph.FollowGraphIndex;
+import com.example.skill_sharing_backend.repository.UserRepository;
+import com.example.skill_sharing_backend.repository.UserSummary;
+import com.example.skill_sharing_backend.service.SuggestionService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * "People you may know": accounts followed by the accounts a user follows,
+ * scored by how many of those followees lead to them. The top K per user
+ * are precomputed over the in-memory follow graph by a fork-join pass and
+ * refreshed incrementally as follows change. Only users with at least one
+ * suggestion are kept, at most suggestions.max-users of them.
+ */
+@Service
+public class SuggestionServiceImpl implements SuggestionService, ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionServiceImpl.class);
+    private static final int USERS_PER_TASK = 256;
+
+    @Autowired
+    private FollowGraphIndex followGraphIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${suggestions.top-k:20}")
+    private int topK;
+
+    @Value("${suggestions.parallelism:0}")
+    private int parallelism;
+
+    @Value("${suggestions.max-users:200000}")
+    private long maxUsers;
+
+    private ForkJoinPool pool;
+    private Cache<Long, TopSuggestions> suggestions;
+
+    private final AtomicBoolean recomputing = new AtomicBoolean();
+    // Users refreshed or dropped by a follow change while a full pass runs; the pass must not overwrite them
+    private final Set<Long> touchedDuringRecompute = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        suggestions = Caffeine.newBuilder()
+            .maximumSize(maxUsers)
+            .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        pool.execute(this::recomputeAll);
+    }
+
+    @Override
+    public List<UserSuggestion> getSuggestions(Long userId, int limit) {
+        // A null from the loader is not cached, so ids with nothing to suggest take no space
+        TopSuggestions top = suggestions.get(userId, id -> {
+            TopSuggestions computed = compute(id);
+            return computed.ids.length > 0 ? computed : null;
+        });
+        int count = top == null ? 0 : Math.min(Math.max(limit, 0), top.ids.length);
+        if (count == 0) {
+            return List.of();
+        }
+
+        Map<Long, UserSummary> summaries = new HashMap<>();
+        List<Long> ids = Arrays.stream(top.ids, 0, count).boxed().toList();
+        for (UserSummary summary : userRepository.findSummariesByIdIn(ids)) {
+            summaries.put(summary.getId(), summary);
+        }
+        List<UserSuggestion> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UserSummary summary = summaries.get(top.ids[i]);
+            if (summary != null) {
+                result.add(new UserSuggestion(summary.getId(), summary.getName(), summary.getProfileImage(),
+                    top.scores[i]));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Scheduled(cron = "${suggestions.recompute-cron:0 0 4 * * *}")
+    public void recomputeAll() {
+        if (!recomputing.compareAndSet(false, true)) {
+            logger.info("Follow suggestions are already being recomputed");
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            long[] userIds = followGraphIndex.userIdsWithFollowing();
+            Map<Long, TopSuggestions> fresh = new ConcurrentHashMap<>(userIds.length * 2);
+            pool.invoke(new RecomputeTask(userIds, 0, userIds.length, fresh));
+            // Users touched since the pass started already hold something newer than what it computed
+            Map<Long, TopSuggestions> current = suggestions.asMap();
+            current.keySet().removeIf(id -> !fresh.containsKey(id) && !touchedDuringRecompute.contains(id));
+            fresh.forEach((id, top) -> {
+                if (!touchedDuringRecompute.contains(id)) {
+                    current.put(id, top);
+                }
+            });
+            logger.info("Recomputed follow suggestions for {} users in {} ms",
+                userIds.length, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            recomputing.set(false);
+            touchedDuringRecompute.clear();
+        }
+    }
+
+    /**
+     * A new edge follower -> followed changes the follower's own two-hop set,
+     * and adds (or removes) a path through the follower for everyone who follows
+     * them. The follower is refreshed right away; their followers are dropped and
+     * recomputed on their next read.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        long followerId = event.followerId();
+        long[] upstreamIds = followGraphIndex.allFollowerIds(followerId);
+        if (recomputing.get()) {
+            touchedDuringRecompute.add(followerId);
+            for (long upstream : upstreamIds) {
+                touchedDuringRecompute.add(upstream);
+            }
+        }
+        pool.execute(() -> {
+            TopSuggestions top = compute(followerId);
+            if (top.ids.length > 0) {
+                suggestions.put(followerId, top);
+            } else {
+                suggestions.invalidate(followerId);
+            }
+        });
+        for (long upstream : upstreamIds) {
+            suggestions.invalidate(upstream);
+        }
+    }
+
+    private TopSuggestions compute(long userId) {
+        long[] followees = followGraphIndex.allFollowingIds(userId);
+        if (followees.length == 0) {
+            return TopSuggestions.EMPTY;
+        }
+        Map<Long, int[]> scores = new HashMap<>();
+        for (long followee : followees) {
+            followGraphIndex.forEachFollowing(followee, candidate -> {
+                if (candidate != userId && Arrays.binarySearch(followees, candidate) < 0) {
+                    scores.computeIfAbsent(candidate, id -> new int[1])[0]++;
+                }
+            });
+        }
+        return TopSuggestions.of(scores, topK);
+    }
+
+    // Splits the user id range until a slice is small enough to score sequentially
+    private final class RecomputeTask extends RecursiveAction {
+        private final long[] userIds;
+        private final int from;
+        private final int to;
+        private final Map<Long, TopSuggestions> out;
+
+        private RecomputeTask(long[] userIds, int from, int to, Map<Long, TopSuggestions> out) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= USERS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    TopSuggestions top = SuggestionServiceImpl.this.compute(userIds[i]);
+                    if (top.ids.length > 0) {
+                        out.put(userIds[i], top);
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RecomputeTask(userIds, from, mid, out), new RecomputeTask(userIds, mid, to, out));
+        }
+    }
+
+    // Candidate ids ordered by descending score, ties by ascending id
+    private static final class TopSuggestions {
+        private static final TopSuggestions EMPTY = new TopSuggestions(new long[0], new int[0]);
+
+        private final long[] ids;
+        private final int[] scores;
+
+        private TopSuggestions(long[] ids, int[] scores) {
+            this.ids = ids;
+            this.scores = scores;
+        }
+
+        private static TopSuggestions of(Map<Long, int[]> scores, int k) {
+            if (scores.isEmpty()) {
+                return EMPTY;
+            }
+            // Min-heap of the best k so far; the weakest candidate sits on top
+            PriorityQueue<Map.Entry<Long, int[]>> heap = new PriorityQueue<>(k + 1, (a, b) -> {
+                int byScore = Integer.compare(a.getValue()[0], b.getValue()[0]);
+                return byScore != 0 ? byScore : Long.compare(b.getKey(), a.getKey());
+            });
+            for (Map.Entry<Long, int[]> entry : scores.entrySet()) {
+                heap.offer(entry);
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+            int n = heap.size();
+            long[] ids = new long[n];
+            int[] values = new int[n];
+            for (int i = n - 1; i >= 0; i--) {
+                Map.Entry<Long, int[]> entry = heap.poll();
+                ids[i] = entry.getKey();
+                values[i] = entry.getValue()[0];
+            }
+            return new TopSuggestions(ids, values);
+        }
+    }
+}
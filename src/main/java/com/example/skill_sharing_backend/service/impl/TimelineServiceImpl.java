@@ -0,0 +1,279 @@
+package com.example.skill_sharing_backend.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.skill_sharing_backend.dto.PostFeedItem;
+import com.example.skill_sharing_backend.event.FollowChangedEvent;
+import com.example.skill_sharing_backend.event.PostChangedEvent;
+import com.example.skill_sharing_backend.graph.FollowGraphIndex;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.example.skill_sharing_backend.pagination.KeysetCursor;
+import com.example.skill_sharing_backend.repository.PostRepository;
+import com.example.skill_sharing_backend.service.InteractionCounterService;
+import com.example.skill_sharing_backend.service.TimelineService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Home timelines ("posts from people I follow", plus the user's own posts)
+ * kept in memory as bounded arrays of post ids, newest first.
+ *
+ * A new post is pushed onto the timelines of its author's followers when it is
+ * created (fan-out-on-write), but only for timelines currently in memory; the
+ * others are rebuilt from posts and user_followers on their next read. Authors
+ * with at least timeline.celebrity-threshold followers are never fanned out:
+ * their posts are merged in at read time instead (fan-out-on-read), so one post
+ * from a large account does not touch hundreds of thousands of timelines.
+ */
+@Service
+public class TimelineServiceImpl implements TimelineService {
+    private static final Logger logger = LoggerFactory.getLogger(TimelineServiceImpl.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private InteractionCounterService interactionCounterService;
+
+    @Autowired
+    private FollowGraphIndex followGraphIndex;
+
+    @Value("${timeline.max-size:800}")
+    private int maxSize;
+
+    @Value("${timeline.max-users:10000}")
+    private long maxUsers;
+
+    @Value("${timeline.idle-expiry:1h}")
+    private Duration idleExpiry;
+
+    @Value("${timeline.celebrity-threshold:10000}")
+    private int celebrityThreshold;
+
+    private Cache<Long, Timeline> timelines;
+
+    @PostConstruct
+    public void init() {
+        timelines = Caffeine.newBuilder()
+            .maximumSize(maxUsers)
+            .expireAfterAccess(idleExpiry)
+            .build();
+    }
+
+    @Override
+    public CursorPage<PostFeedItem> getHomeTimeline(Long userId, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        long beforeId = cursor == null || cursor.isBlank() ? Long.MAX_VALUE : KeysetCursor.decode(cursor).getId();
+
+        Timeline timeline = timelines.get(userId, this::rebuild);
+        int wanted = pageSize + 1;
+        List<PostFeedItem> window = new ArrayList<>(wanted);
+        long before = beforeId;
+        // Deleted posts drop out of hydration, so keep reading until the window is full or both sources run out
+        while (window.size() < wanted) {
+            int limit = wanted - window.size();
+            long[] own = timeline.page(before, limit);
+            long[] celebrity = celebrityPostIds(userId, before, limit);
+            long[] ids = mergeDescending(own, celebrity, limit);
+            if (ids.length == 0) {
+                break;
+            }
+            window.addAll(hydrate(ids, timeline));
+            if (own.length < limit && celebrity.length < limit) {
+                break;
+            }
+            before = ids[ids.length - 1];
+        }
+        return CursorPage.of(interactionCounterService.withPendingCounts(window), pageSize,
+            post -> KeysetCursor.encode(post.createdAt(), post.id()));
+    }
+
+    @Override
+    public void evict(Long userId) {
+        timelines.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.type() == PostChangedEvent.Type.DELETED) {
+            // Cheaper than asking who might hold the post: one binary search per cached timeline
+            long postId = event.postId();
+            timelines.asMap().values().forEach(timeline -> timeline.remove(postId));
+            return;
+        }
+        if (event.type() != PostChangedEvent.Type.CREATED || event.authorId() == null) {
+            return;
+        }
+        long postId = event.postId();
+        Timeline own = timelines.getIfPresent(event.authorId());
+        if (own != null) {
+            own.add(postId);
+        }
+        // Fan-out uses the in-memory follow graph, so creating a post adds no follower query
+        if (followGraphIndex.followerCount(event.authorId()) >= celebrityThreshold) {
+            return;
+        }
+        long[] followerIds = followGraphIndex.allFollowerIds(event.authorId());
+        int delivered = 0;
+        for (long followerId : followerIds) {
+            Timeline timeline = timelines.getIfPresent(followerId);
+            if (timeline != null) {
+                timeline.add(postId);
+                delivered++;
+            }
+        }
+        logger.debug("Fanned out post {} to {} of {} followers", postId, delivered, followerIds.length);
+    }
+
+    // The followed set changed, so the cached timeline no longer matches; rebuild it on the next read
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        evict(event.followerId());
+    }
+
+    private Timeline rebuild(Long userId) {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT p.id FROM posts p JOIN users u ON u.id = p.user_id " +
+            "WHERE (p.user_id = ? OR p.user_id IN (SELECT f.followed_id FROM user_followers f WHERE f.follower_id = ?)) " +
+            "AND (p.user_id = ? OR u.followers_count < ?) " +
+            "ORDER BY p.id DESC LIMIT " + maxSize,
+            Long.class, userId, userId, userId, celebrityThreshold);
+        Timeline timeline = new Timeline(maxSize);
+        timeline.load(ids);
+        return timeline;
+    }
+
+    private long[] celebrityPostIds(Long userId, long beforeId, int limit) {
+        return jdbcTemplate.queryForList(
+            "SELECT p.id FROM user_followers f " +
+            "JOIN users u ON u.id = f.followed_id AND u.followers_count >= ? " +
+            "JOIN posts p ON p.user_id = f.followed_id " +
+            "WHERE f.follower_id = ? AND p.user_id <> ? AND p.id < ? " +
+            "ORDER BY p.id DESC LIMIT " + limit,
+            Long.class, celebrityThreshold, userId, userId, beforeId)
+            .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Loads the page in one query and restores timeline order; posts deleted meanwhile drop out of the timeline too
+    private List<PostFeedItem> hydrate(long[] ids, Timeline timeline) {
+        Map<Long, PostFeedItem> byId = new HashMap<>();
+        for (PostFeedItem item : postRepository.findFeedItemsByIdIn(Arrays.stream(ids).boxed().toList())) {
+            byId.put(item.id(), item);
+        }
+        List<PostFeedItem> items = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            PostFeedItem item = byId.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                timeline.remove(id);
+            }
+        }
+        return items;
+    }
+
+    private static long[] mergeDescending(long[] a, long[] b, int limit) {
+        long[] merged = new long[Math.min(limit, a.length + b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (n < merged.length && (i < a.length || j < b.length)) {
+            long next;
+            if (j >= b.length || (i < a.length && a[i] >= b[j])) {
+                next = a[i++];
+            } else {
+                next = b[j++];
+            }
+            // An author who crossed the threshold can appear in both sources
+            if (n == 0 || merged[n - 1] != next) {
+                merged[n++] = next;
+            }
+        }
+        return n == merged.length ? merged : Arrays.copyOf(merged, n);
+    }
+
+    /**
+     * Post ids in descending order, capped at a fixed capacity; the oldest id
+     * falls off when a new one arrives on a full timeline.
+     */
+    static final class Timeline {
+        private final long[] ids;
+        private int size;
+
+        Timeline(int capacity) {
+            this.ids = new long[capacity];
+        }
+
+        synchronized void load(List<Long> descendingIds) {
+            size = Math.min(descendingIds.size(), ids.length);
+            for (int i = 0; i < size; i++) {
+                ids[i] = descendingIds.get(i);
+            }
+        }
+
+        synchronized void add(long postId) {
+            int index = insertionPoint(postId);
+            if (index < size && ids[index] == postId) {
+                return;
+            }
+            if (index >= ids.length) {
+                return;
+            }
+            int moved = Math.min(size, ids.length - 1) - index;
+            if (moved > 0) {
+                System.arraycopy(ids, index, ids, index + 1, moved);
+            }
+            ids[index] = postId;
+            size = Math.min(size + 1, ids.length);
+        }
+
+        synchronized void remove(long postId) {
+            int index = insertionPoint(postId);
+            if (index >= size || ids[index] != postId) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+
+        // Binary search for the first id strictly below beforeId, then a copy of at most limit ids
+        synchronized long[] page(long beforeId, int limit) {
+            int from = insertionPoint(beforeId - 1);
+            int to = Math.min(size, from + limit);
+            return from >= to ? new long[0] : Arrays.copyOfRange(ids, from, to);
+        }
+
+        // Index of the first element <= postId in the descending array
+        private int insertionPoint(long postId) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ids[mid] > postId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -1,31 +1,62 @@
 package com.example.skill_sharing_backend.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.skill_sharing_backend.cache.OAuthUserCache;
 import com.example.skill_sharing_backend.dto.EmailLoginDTO;
 import com.example.skill_sharing_backend.dto.UserDTO;
+import com.example.skill_sharing_backend.event.FollowChangedEvent;
+import com.example.skill_sharing_backend.event.NotificationEvent;
+import com.example.skill_sharing_backend.event.UserChangedEvent;
+import com.example.skill_sharing_backend.graph.FollowGraphIndex;
 import com.example.skill_sharing_backend.model.RegistrationSource;
 import com.example.skill_sharing_backend.model.User;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.example.skill_sharing_backend.pagination.KeysetCursor;
+import com.example.skill_sharing_backend.repository.FollowSummary;
+import com.example.skill_sharing_backend.repository.UserFollowRepository;
 import com.example.skill_sharing_backend.repository.UserRepository;
+import com.example.skill_sharing_backend.search.UserSearchIndex;
+import com.example.skill_sharing_backend.security.PasswordHasher;
 import com.example.skill_sharing_backend.service.UserService;
 
 @SuppressWarnings("unused")
 @Service
 public class UserServiceImpl implements UserService {
+    private static final int MAX_SEARCH_RESULTS = 50;
 
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private OAuthUserCache oauthUserCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FollowGraphIndex followGraphIndex;
+
+    @Autowired
+    private UserFollowRepository userFollowRepository;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
 
     @Override
     public ResponseEntity<User> createUser(User user) {
@@ -39,11 +70,12 @@ public class UserServiceImpl implements UserService {
             existingUser.setName(user.getName());
             existingUser.setProfileImage(user.getProfileImage());
             existingUser.setSource(user.getSource());
-            return ResponseEntity.ok(userRepository.save(existingUser));
+            oauthUserCache.evictUser(existingUser.getId());
+            return ResponseEntity.ok(publishChanged(userRepository.save(existingUser)));
         }
         
         // Create new user
-        User savedUser = userRepository.save(user);
+        User savedUser = publishChanged(userRepository.save(user));
         return ResponseEntity.ok(savedUser);
     }
 
@@ -53,42 +85,53 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    // Both return the followed user's follower count after the change
     @Override
     @Transactional
-    public User followUser(Long userId, Long followerId) {
-        User user = getUserById(userId);
-        User follower = getUserById(followerId);
-
-        if (!user.getFollowers().contains(follower)) {
-            user.getFollowers().add(follower);
-            user.setFollowersCount(user.getFollowersCount() + 1);
-            follower.setFollowingCount(follower.getFollowingCount() + 1);
-            userRepository.save(follower);
+    public int followUser(Long userId, Long followerId) {
+        requireUsers(userId, followerId);
+        boolean changed = userRepository.insertFollow(userId, followerId) > 0;
+        if (changed) {
+            userRepository.adjustFollowersCount(userId, 1);
+            userRepository.adjustFollowingCount(followerId, 1);
+            eventPublisher.publishEvent(new FollowChangedEvent(followerId, userId, true));
+            eventPublisher.publishEvent(NotificationEvent.follow(userId, followerId));
         }
-
-        return userRepository.save(user);
+        // The graph index only sees the edge once this transaction commits
+        return followGraphIndex.followerCount(userId) + (changed ? 1 : 0);
     }
 
     @Override
     @Transactional
-    public User unfollowUser(Long userId, Long followerId) {
-        User user = getUserById(userId);
-        User follower = getUserById(followerId);
-
-        if (user.getFollowers().contains(follower)) {
-            user.getFollowers().remove(follower);
-            user.setFollowersCount(user.getFollowersCount() - 1);
-            follower.setFollowingCount(follower.getFollowingCount() - 1);
-            userRepository.save(follower);
+    public int unfollowUser(Long userId, Long followerId) {
+        requireUsers(userId, followerId);
+        boolean changed = userRepository.deleteFollow(userId, followerId) > 0;
+        if (changed) {
+            userRepository.adjustFollowersCount(userId, -1);
+            userRepository.adjustFollowingCount(followerId, -1);
+            eventPublisher.publishEvent(new FollowChangedEvent(followerId, userId, false));
         }
+        return Math.max(0, followGraphIndex.followerCount(userId) - (changed ? 1 : 0));
+    }
 
-        return userRepository.save(user);
+    private void requireUsers(Long userId, Long followerId) {
+        if (!userRepository.existsById(userId) || !userRepository.existsById(followerId)) {
+            throw new RuntimeException("User not found");
+        }
     }
 
     @Override
-    public List<UserDTO> searchUsers(String query) {
-        List<User> users = userRepository.searchUsers(query);
-        return users.stream()
+    public List<UserDTO> searchUsers(String query, int limit) {
+        List<Long> ids = userSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // One IN query for the matches, then back into ranked order
+        Map<Long, User> users = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -102,9 +145,35 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public boolean isFollowing(Long userId, Long followedId) {
-        User user = getUserById(userId);
-        User followed = getUserById(followedId);
-        return user.getFollowing().contains(followed);
+        return followGraphIndex.isFollowing(userId, followedId);
+    }
+
+    @Override
+    public CursorPage<FollowSummary> getFollowers(Long userId, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<FollowSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = userFollowRepository.findFollowersHead(userId, window);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = userFollowRepository.findFollowersAfter(userId, after.getTimestamp(), after.getId(), window);
+        }
+        return CursorPage.of(rows, pageSize, row -> KeysetCursor.encode(row.getFollowedAt(), row.getId()));
+    }
+
+    @Override
+    public CursorPage<FollowSummary> getFollowing(Long userId, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<FollowSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = userFollowRepository.findFollowingHead(userId, window);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = userFollowRepository.findFollowingAfter(userId, after.getTimestamp(), after.getId(), window);
+        }
+        return CursorPage.of(rows, pageSize, row -> KeysetCursor.encode(row.getFollowedAt(), row.getId()));
     }
 
     @Override
@@ -114,9 +183,15 @@ public class UserServiceImpl implements UserService {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid email or password");
         }
         
-        if (!passwordEncoder.matches(loginDTO.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(loginDTO.getPassword(), user.getPassword())) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid email or password");
         }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            Long id = user.getId();
+            String oldHash = user.getPassword();
+            passwordHasher.rehashLater(loginDTO.getPassword(),
+                newHash -> userRepository.replacePasswordHash(id, oldHash, newHash));
+        }
 
         // Initialize counts if not already set
         user.setFollowersCount(user.getFollowersCount() < 0 ? 0 : user.getFollowersCount());
@@ -137,10 +212,10 @@ public class UserServiceImpl implements UserService {
         User user = new User();
         user.setEmail(registerDTO.getEmail());
         user.setName(registerDTO.getEmail().split("@")[0]); // Use email username as default name
-        user.setPassword(passwordEncoder.encode(registerDTO.getPassword()));
+        user.setPassword(passwordHasher.encode(registerDTO.getPassword()));
         user.setSource(RegistrationSource.CREDENTIAL);
         
-        User savedUser = userRepository.save(user);
+        User savedUser = publishChanged(userRepository.save(user));
         
         // Convert to DTO before returning
         UserDTO dto = convertToDTO(savedUser);
@@ -157,10 +232,62 @@ public class UserServiceImpl implements UserService {
         if (user.getId() == null) {
             return ResponseEntity.badRequest().build();
         }
-        User updatedUser = userRepository.save(user);
+        User updatedUser = publishChanged(userRepository.save(user));
+        oauthUserCache.evictUser(updatedUser.getId());
         return ResponseEntity.ok(updatedUser);
     }
 
+    /**
+     * Looks the principal up in memory first; the database is read only on a
+     * cache miss and written only when the provider's name or picture differs
+     * from what is stored.
+     */
+    @Override
+    public UserDTO resolveOAuthUser(String subject, String email, String name, String picture) {
+        String key = subject != null ? subject : email;
+        int profileHash = Objects.hash(name, picture);
+        OAuthUserCache.Entry entry = oauthUserCache.getIfPresent(key);
+        if (entry == null || entry.profileHash() != profileHash) {
+            entry = oauthUserCache.compute(key, current -> current != null && current.profileHash() == profileHash
+                ? current
+                : syncOAuthUser(email, name, picture, profileHash));
+        }
+        UserDTO dto = new UserDTO();
+        dto.setId(entry.id());
+        dto.setName(entry.name());
+        dto.setEmail(entry.email());
+        dto.setProfileImage(entry.profileImage());
+        dto.setSource(entry.source().toString());
+        dto.setFollowersCount(followGraphIndex.followerCount(entry.id()));
+        dto.setFollowingCount(followGraphIndex.followingCount(entry.id()));
+        return dto;
+    }
+
+    private OAuthUserCache.Entry syncOAuthUser(String email, String name, String picture, int profileHash) {
+        User user = userRepository.findByEmail(email);
+        if (user == null) {
+            user = new User();
+            user.setEmail(email);
+            user.setSource(RegistrationSource.GOOGLE);
+            user.setPassword(""); // Empty password for Google users
+            user.setFollowersCount(0);
+            user.setFollowingCount(0);
+        }
+        if (user.getId() == null || Objects.hash(user.getName(), user.getProfileImage()) != profileHash) {
+            user.setName(name);
+            user.setProfileImage(picture);
+            user = publishChanged(userRepository.save(user));
+        }
+        return new OAuthUserCache.Entry(user.getId(), user.getName(), user.getEmail(), user.getProfileImage(),
+            user.getSource(), profileHash);
+    }
+
+    // Keeps the search index in step with name and email changes
+    private User publishChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getName(), user.getEmail()));
+        return user;
+    }
+
     private UserDTO convertToDTO(User user) {
         UserDTO dto = new UserDTO();
         dto.setId(user.getId());
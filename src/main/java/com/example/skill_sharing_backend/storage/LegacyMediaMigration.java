@@ -0,0 +1,96 @@
+package com.example.skill_sharing_backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.skill_sharing_backend.service.MediaService;
+
+/**
+ * One-off copy of media still held in the old posts.image1..video LOB columns
+ * into the MediaStore. Each row is moved individually and its LOB nulled, so an
+ * interrupted run simply resumes on the next start.
+ */
+@Component
+public class LegacyMediaMigration implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LegacyMediaMigration.class);
+    private static final String[] LEGACY_COLUMNS = {"image1", "image2", "image3", "video"};
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Value("${media.migrate-legacy-lobs:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        for (String column : LEGACY_COLUMNS) {
+            if (legacyColumnExists(column)) {
+                migrateColumn(column);
+            }
+        }
+    }
+
+    private boolean legacyColumnExists(String column) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.columns " +
+            "WHERE table_schema = DATABASE() AND table_name = 'posts' AND column_name = ?",
+            Integer.class, column);
+        return count != null && count > 0;
+    }
+
+    private void migrateColumn(String column) {
+        String keyColumn = column + "_key";
+        MediaKind kind = "video".equals(column) ? MediaKind.VIDEO : MediaKind.IMAGE;
+        long lastId = 0;
+        int migrated = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM posts WHERE id > ? AND " + column + " IS NOT NULL AND " + keyColumn + " IS NULL " +
+                "ORDER BY id LIMIT " + BATCH_SIZE,
+                Long.class, lastId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            for (Long id : ids) {
+                lastId = id;
+                try {
+                    String key = jdbcTemplate.query("SELECT " + column + " FROM posts WHERE id = ?", rs -> {
+                        if (!rs.next()) {
+                            return null;
+                        }
+                        try (InputStream in = rs.getBinaryStream(1)) {
+                            return in == null ? null : mediaService.store(in, kind).getKey();
+                        } catch (IOException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }, id);
+                    jdbcTemplate.update(
+                        "UPDATE posts SET " + keyColumn + " = ?, " + column + " = NULL WHERE id = ?", key, id);
+                    migrated++;
+                } catch (Exception e) {
+                    logger.error("Failed to migrate {} of post {}: {}", column, id, e.getMessage());
+                }
+            }
+        }
+        if (migrated > 0) {
+            logger.info("Migrated {} legacy {} blobs into the media store", migrated, column);
+        }
+    }
+}
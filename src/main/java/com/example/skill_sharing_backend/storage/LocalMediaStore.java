@@ -0,0 +1,141 @@
+package com.example.skill_sharing_backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.example.skill_sharing_backend.exception.MediaRejectedException;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Stores blobs under {@code <root>/ab/cd/abcd...}, with variants alongside as
+ * {@code abcd....<variant>}. Uploads are written to a temp file first and
+ * renamed into place once their hash is known, so a partially written blob is
+ * never visible under its key.
+ */
+@Component
+@ConditionalOnProperty(name = "media.store", havingValue = "local", matchIfMissing = true)
+public class LocalMediaStore implements MediaStore {
+    private static final Logger logger = LoggerFactory.getLogger(LocalMediaStore.class);
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]+)?");
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Value("${media.storage.root}")
+    private String rootDir;
+
+    private Path root;
+    private Path tmp;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(rootDir).toAbsolutePath().normalize();
+        tmp = root.resolve("tmp");
+        Files.createDirectories(tmp);
+        logger.info("Local media store at {}", root);
+    }
+
+    @Override
+    public StoredMedia put(InputStream content, long maxBytes) throws IOException {
+        Path part = Files.createTempFile(tmp, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            byte[] chunk = new byte[CHUNK_SIZE];
+            try (OutputStream out = Files.newOutputStream(part)) {
+                int read;
+                while ((read = content.read(chunk)) != -1) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new MediaRejectedException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Upload exceeds the limit of " + maxBytes + " bytes");
+                    }
+                    digest.update(chunk, 0, read);
+                    out.write(chunk, 0, read);
+                }
+            }
+
+            String key = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(key);
+            if (Files.exists(target)) {
+                logger.debug("Media {} already stored, discarding duplicate upload", key);
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Lost a race with an identical concurrent upload; the stored copy is equivalent
+                }
+            }
+            return new StoredMedia(key, size);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    @Override
+    public void putVariant(String variantKey, InputStream content) throws IOException {
+        Path target = pathFor(variantKey);
+        Path part = Files.createTempFile(tmp, "variant-", ".part");
+        try {
+            Files.copy(content, part, StandardCopyOption.REPLACE_EXISTING);
+            Files.createDirectories(target.getParent());
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(pathFor(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(pathFor(key));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(pathFor(key));
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+        Path path = pathFor(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    Path pathFor(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid media key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
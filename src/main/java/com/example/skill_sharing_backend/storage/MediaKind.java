@@ -0,0 +1,18 @@
+package com.example.skill_sharing_backend.storage;
+
+import java.util.Set;
+
+public enum MediaKind {
+    IMAGE(Set.of("image/jpeg", "image/png", "image/gif", "image/webp")),
+    VIDEO(Set.of("video/mp4", "video/quicktime", "video/webm"));
+
+    private final Set<String> allowedTypes;
+
+    MediaKind(Set<String> allowedTypes) {
+        this.allowedTypes = allowedTypes;
+    }
+
+    public boolean accepts(String contentType) {
+        return contentType != null && allowedTypes.contains(contentType);
+    }
+}
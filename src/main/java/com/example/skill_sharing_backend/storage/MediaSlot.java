@@ -0,0 +1,47 @@
+package com.example.skill_sharing_backend.storage;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import com.example.skill_sharing_backend.model.Post;
+import com.example.skill_sharing_backend.repository.PostMediaKeys;
+
+/** The media attachments a post can carry, as addressed in /api/posts/{id}/media/{slot}. */
+public enum MediaSlot {
+    IMAGE1, IMAGE2, IMAGE3, VIDEO;
+
+    public String path() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public MediaKind kind() {
+        return this == VIDEO ? MediaKind.VIDEO : MediaKind.IMAGE;
+    }
+
+    public void assign(Post post, String key) {
+        switch (this) {
+            case IMAGE1 -> post.setImage1Key(key);
+            case IMAGE2 -> post.setImage2Key(key);
+            case IMAGE3 -> post.setImage3Key(key);
+            case VIDEO -> post.setVideoKey(key);
+        }
+    }
+
+    public String keyOf(PostMediaKeys keys) {
+        return switch (this) {
+            case IMAGE1 -> keys.getImage1Key();
+            case IMAGE2 -> keys.getImage2Key();
+            case IMAGE3 -> keys.getImage3Key();
+            case VIDEO -> keys.getVideoKey();
+        };
+    }
+
+    public static Optional<MediaSlot> fromPath(String slot) {
+        for (MediaSlot value : values()) {
+            if (value.path().equalsIgnoreCase(slot)) {
+                return Optional.of(value);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.skill_sharing_backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Content-addressed blob store for post media. Blobs are keyed by the hex
+ * SHA-256 of their bytes, so storing the same upload twice yields the same key
+ * and only one copy on disk.
+ */
+public interface MediaStore {
+    /**
+     * Streams {@code content} into the store in fixed-size chunks, hashing as it
+     * goes. Fails with 413 as soon as more than {@code maxBytes} have been read.
+     */
+    StoredMedia put(InputStream content, long maxBytes) throws IOException;
+    /**
+     * Stores a copy derived from an existing blob (a thumbnail, say) next to it
+     * under {@link #variantKey}. The write is atomic, so readers see either no
+     * variant or a complete one.
+     */
+    void putVariant(String variantKey, InputStream content) throws IOException;
+
+    InputStream open(String key) throws IOException;
+    boolean exists(String key);
+    long size(String key) throws IOException;
+
+    /**
+     * The blob as a local file, for stores that keep one. Callers use it to hand
+     * the file to the container's sendfile path instead of copying through the heap.
+     */
+    default Optional<Path> localFile(String key) {
+        return Optional.empty();
+    }
+
+    static String variantKey(String key, String variant) {
+        return key + "." + variant;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.skill_sharing_backend.storage;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Identifies uploads from their leading bytes. The client-supplied
+ * Content-Type is not trusted, since it is whatever the browser guessed from
+ * the file name.
+ */
+public final class MediaTypeSniffer {
+    public static final int HEADER_LENGTH = 16;
+
+    private MediaTypeSniffer() {
+    }
+
+    public static String sniff(byte[] head, int length) {
+        if (startsWith(head, length, 0, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, length, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(head, length, 0, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(head, length, 0, 'R', 'I', 'F', 'F') && startsWith(head, length, 8, 'W', 'E', 'B', 'P')) {
+            return "image/webp";
+        }
+        if (startsWith(head, length, 0, 0x1A, 0x45, 0xDF, 0xA3)) {
+            return "video/webm";
+        }
+        if (startsWith(head, length, 4, 'f', 't', 'y', 'p') && length >= 12) {
+            String brand = new String(head, 8, 4, StandardCharsets.US_ASCII);
+            return "qt  ".equals(brand) ? "video/quicktime" : "video/mp4";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] head, int length, int offset, int... signature) {
+        if (length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((head[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.skill_sharing_backend.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StoredMedia {
+    private final String key;
+    private final long size;
+}
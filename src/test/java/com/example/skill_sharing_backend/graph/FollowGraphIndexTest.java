@@ -0,0 +1,122 @@
+package com.example.skill_sharing_backend.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.example.skill_sharing_backend.event.FollowChangedEvent;
+
+@ExtendWith(MockitoExtension.class)
+class FollowGraphIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private FollowGraphIndex graph;
+
+    // user_followers rows as (followed_id, follower_id): 1 is followed by 2, 3 and 4; 2 is followed by 3
+    private static final long[][] EDGES = {{1, 2}, {1, 3}, {1, 4}, {2, 3}};
+
+    @BeforeEach
+    void loadEdges() {
+        doAnswer(invocation -> {
+            feed(invocation.getArgument(1), false);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT followed_id, follower_id"), any(RowCallbackHandler.class));
+        doAnswer(invocation -> {
+            feed(invocation.getArgument(1), true);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT follower_id, followed_id"), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void loadsBothDirectionsFromOneTable() {
+        assertThat(graph.followerCount(1)).isEqualTo(3);
+        assertThat(graph.followingCount(3)).isEqualTo(2);
+        assertThat(graph.isFollowing(2, 1)).isTrue();
+        assertThat(graph.isFollowing(1, 2)).isFalse();
+        assertThat(graph.allFollowerIds(1)).containsExactly(2, 3, 4);
+        assertThat(graph.allFollowingIds(3)).containsExactly(1, 2);
+        assertThat(graph.userIdsWithFollowing()).containsExactlyInAnyOrder(2, 3, 4);
+    }
+
+    @Test
+    void loadsOnlyOnce() {
+        graph.followerCount(1);
+        graph.followingCount(1);
+        graph.isFollowing(2, 1);
+
+        verify(jdbcTemplate, times(2)).query(any(String.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void pagesFollowerIdsByLastSeenId() {
+        assertThat(graph.followerIds(1, 0, 2)).containsExactly(2, 3);
+        assertThat(graph.followerIds(1, 3, 2)).containsExactly(4);
+        assertThat(graph.followerIds(1, 4, 2)).isEmpty();
+        assertThat(graph.followerIds(99, 0, 2)).isEmpty();
+    }
+
+    @Test
+    void followEventsUpdateBothDirections() {
+        graph.onFollowChanged(new FollowChangedEvent(5L, 1L, true));
+        graph.onFollowChanged(new FollowChangedEvent(2L, 1L, false));
+
+        assertThat(graph.allFollowerIds(1)).containsExactly(3, 4, 5);
+        assertThat(graph.allFollowingIds(5)).containsExactly(1);
+        assertThat(graph.isFollowing(2, 1)).isFalse();
+        assertThat(graph.followingCount(2)).isZero();
+    }
+
+    @Test
+    void repeatedEventsAreIdempotent() {
+        graph.onFollowChanged(new FollowChangedEvent(2L, 1L, true));
+        graph.onFollowChanged(new FollowChangedEvent(9L, 8L, false));
+
+        assertThat(graph.followerCount(1)).isEqualTo(3);
+        assertThat(graph.followerCount(8)).isZero();
+    }
+
+    @Test
+    void forEachFollowingVisitsAscendingIds() {
+        StringBuilder visited = new StringBuilder();
+
+        graph.forEachFollowing(3, id -> visited.append(id).append(' '));
+
+        assertThat(visited.toString()).isEqualTo("1 2 ");
+    }
+
+    // Rows arrive sorted by key then value, as the ORDER BY in the load queries guarantees
+    private static void feed(RowCallbackHandler handler, boolean byFollower) throws SQLException {
+        long[][] rows = new long[EDGES.length][];
+        for (int i = 0; i < EDGES.length; i++) {
+            rows[i] = byFollower ? new long[] {EDGES[i][1], EDGES[i][0]} : EDGES[i];
+        }
+        Arrays.sort(rows, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        for (long[] row : rows) {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong(1)).thenReturn(row[0]);
+            when(rs.getLong(2)).thenReturn(row[1]);
+            handler.processRow(rs);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.skill_sharing_backend.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LongSortedSetTest {
+
+    @Test
+    void addKeepsValuesSortedAndDistinct() {
+        LongSortedSet set = new LongSortedSet();
+
+        assertThat(set.add(30)).isTrue();
+        assertThat(set.add(10)).isTrue();
+        assertThat(set.add(20)).isTrue();
+        assertThat(set.add(10)).isFalse();
+
+        assertThat(set.toArray()).containsExactly(10, 20, 30);
+        assertThat(set.size()).isEqualTo(3);
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        LongSortedSet set = new LongSortedSet();
+        for (long value = 100; value > 0; value--) {
+            set.add(value);
+        }
+
+        assertThat(set.size()).isEqualTo(100);
+        assertThat(set.toArray()).startsWith(1, 2, 3).endsWith(99, 100);
+    }
+
+    @Test
+    void removeClosesTheGap() {
+        LongSortedSet set = new LongSortedSet(new long[] {1, 2, 3, 4}, 4);
+
+        assertThat(set.remove(2)).isTrue();
+        assertThat(set.remove(2)).isFalse();
+        assertThat(set.remove(9)).isFalse();
+
+        assertThat(set.toArray()).containsExactly(1, 3, 4);
+        assertThat(set.contains(2)).isFalse();
+        assertThat(set.contains(3)).isTrue();
+    }
+
+    @Test
+    void onlyTheFirstSizeEntriesOfAnAdoptedArrayCount() {
+        LongSortedSet set = new LongSortedSet(new long[] {5, 6, 0, 0}, 2);
+
+        assertThat(set.contains(0)).isFalse();
+        assertThat(set.toArray()).containsExactly(5, 6);
+        set.add(7);
+        assertThat(set.toArray()).containsExactly(5, 6, 7);
+    }
+
+    @Test
+    void pageStartsStrictlyAfterTheGivenValue() {
+        LongSortedSet set = new LongSortedSet(new long[] {10, 20, 30, 40, 50}, 5);
+
+        assertThat(set.page(0, 2)).containsExactly(10, 20);
+        assertThat(set.page(20, 2)).containsExactly(30, 40);
+        // A value that is not in the set still positions the page
+        assertThat(set.page(25, 10)).containsExactly(30, 40, 50);
+        assertThat(set.page(50, 10)).isEmpty();
+        assertThat(set.page(0, 0)).isEmpty();
+    }
+
+    @Test
+    void pageDoesNotOverflowOnALargeLimit() {
+        LongSortedSet set = new LongSortedSet(new long[] {1, 2, 3}, 3);
+
+        assertThat(set.page(1, Integer.MAX_VALUE)).containsExactly(2, 3);
+    }
+
+    @Test
+    void forEachVisitsInAscendingOrder() {
+        LongSortedSet set = new LongSortedSet();
+        set.add(3);
+        set.add(1);
+        set.add(2);
+        List<Long> visited = new ArrayList<>();
+
+        set.forEach(visited::add);
+
+        assertThat(visited).containsExactly(1L, 2L, 3L);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.skill_sharing_backend.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.skill_sharing_backend.event.NotificationEvent;
+import com.example.skill_sharing_backend.model.NotificationType;
+import com.example.skill_sharing_backend.notification.NotificationCoalescer.Pending;
+
+class NotificationCoalescerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final NotificationCoalescer coalescer = new NotificationCoalescer();
+
+    @Test
+    void onlyLikesAndFollowsCoalesce() {
+        assertThat(NotificationCoalescer.coalesces(NotificationType.LIKE)).isTrue();
+        assertThat(NotificationCoalescer.coalesces(NotificationType.FOLLOW)).isTrue();
+        assertThat(NotificationCoalescer.coalesces(NotificationType.COMMENT)).isFalse();
+    }
+
+    @Test
+    void likesOfOnePostBecomeOneNotification() {
+        coalescer.merge(like(1L, 10L, T0));
+        coalescer.merge(like(1L, 11L, T0.plusSeconds(5)));
+        coalescer.merge(like(2L, 12L, T0.plusSeconds(6)));
+
+        assertThat(coalescer.size()).isEqualTo(2);
+        Pending post1 = drainFor(1L);
+        assertThat(post1.actors).containsExactly(10L, 11L);
+        assertThat(post1.firstAt).isEqualTo(T0);
+        assertThat(post1.lastAt).isEqualTo(T0.plusSeconds(5));
+    }
+
+    @Test
+    void followsAreKeyedByTheFollowedUser() {
+        coalescer.merge(follow(7L, 1L, T0));
+        coalescer.merge(follow(7L, 2L, T0.plusSeconds(1)));
+        coalescer.merge(follow(8L, 1L, T0.plusSeconds(2)));
+
+        List<Pending> drained = coalescer.drainAll();
+
+        assertThat(drained).hasSize(2);
+        assertThat(drained).filteredOn(p -> p.recipientId == 7L).singleElement()
+            .satisfies(p -> assertThat(p.actors).containsExactly(1L, 2L));
+    }
+
+    @Test
+    void aRepeatActorCountsOnceAndBecomesTheLatest() {
+        coalescer.merge(like(1L, 10L, T0));
+        coalescer.merge(like(1L, 11L, T0.plusSeconds(1)));
+        coalescer.merge(like(1L, 10L, T0.plusSeconds(2)));
+
+        Pending pending = drainFor(1L);
+
+        assertThat(pending.actors).containsExactly(11L, 10L);
+        assertThat(pending.latestActor()).isEqualTo(10L);
+    }
+
+    @Test
+    void drainReadyTakesOnlyWindowsOpenedByTheCutoff() {
+        coalescer.merge(like(1L, 10L, T0));
+        coalescer.merge(like(2L, 11L, T0.plusSeconds(30)));
+        // Joining an old window does not move its opening time
+        coalescer.merge(like(1L, 12L, T0.plusSeconds(40)));
+
+        List<Pending> ready = coalescer.drainReady(T0.plusSeconds(10));
+
+        assertThat(ready).singleElement().satisfies(p -> {
+            assertThat(p.postId).isEqualTo(1L);
+            assertThat(p.actors).containsExactly(10L, 12L);
+        });
+        assertThat(coalescer.size()).isEqualTo(1);
+        assertThat(coalescer.drainReady(T0.plusSeconds(30))).hasSize(1);
+        assertThat(coalescer.size()).isZero();
+    }
+
+    @Test
+    void aLikeAfterADrainOpensANewWindow() {
+        coalescer.merge(like(1L, 10L, T0));
+        coalescer.drainAll();
+        coalescer.merge(like(1L, 11L, T0.plusSeconds(60)));
+
+        assertThat(drainFor(1L).actors).containsExactly(11L);
+    }
+
+    @Test
+    void sampleListsTheMostRecentActorsFirst() {
+        for (long actor = 1; actor <= 5; actor++) {
+            coalescer.merge(like(1L, actor, T0.plusSeconds(actor)));
+        }
+
+        Pending pending = drainFor(1L);
+
+        assertThat(pending.recentActors(3)).containsExactly(5L, 4L, 3L);
+        assertThat(pending.sample(3)).isEqualTo("5,4,3");
+        assertThat(pending.sample(10)).isEqualTo("5,4,3,2,1");
+    }
+
+    @Test
+    void theRecipientIsNeverCountedAsAnActor() {
+        coalescer.merge(follow(7L, 7L, T0));
+        Pending self = coalescer.drainAll().get(0);
+        assertThat(self.withoutActor(7L)).isFalse();
+
+        coalescer.merge(like(1L, 3L, T0));
+        coalescer.merge(like(1L, 4L, T0));
+        Pending mixed = drainFor(1L);
+        assertThat(mixed.withoutActor(3L)).isTrue();
+        assertThat(mixed.actors).containsExactly(4L);
+    }
+
+    @Test
+    void retainActorsKeepsOrder() {
+        for (long actor = 1; actor <= 4; actor++) {
+            coalescer.merge(like(1L, actor, T0));
+        }
+        Pending pending = drainFor(1L);
+
+        pending.retainActors(Set.of(4L, 2L));
+
+        assertThat(pending.actors).containsExactly(2L, 4L);
+        assertThat(pending.latestActor()).isEqualTo(4L);
+    }
+
+    @Test
+    void singleWrapsOneEventWithoutCoalescing() {
+        NotificationEvent comment = new NotificationEvent(NotificationType.COMMENT, null, 3L, 1L, 99L, T0);
+
+        Pending pending = Pending.single(comment);
+
+        assertThat(pending.commentId).isEqualTo(99L);
+        assertThat(pending.actors).containsExactly(3L);
+        assertThat(coalescer.size()).isZero();
+    }
+
+    private Pending drainFor(Long postId) {
+        return coalescer.drainAll().stream()
+            .filter(pending -> postId.equals(pending.postId))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static NotificationEvent like(Long postId, Long actorId, LocalDateTime at) {
+        return new NotificationEvent(NotificationType.LIKE, null, actorId, postId, null, at);
+    }
+
+    private static NotificationEvent follow(Long followedId, Long followerId, LocalDateTime at) {
+        return new NotificationEvent(NotificationType.FOLLOW, followedId, followerId, null, null, at);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.skill_sharing_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.skill_sharing_backend.event.UserChangedEvent;
+
+class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex();
+    }
+
+    @Test
+    void ranksExactThenPrefixThenWordThenEmailThenSubstring() {
+        user(6, "Bob", "bob.hannah@example.com");
+        user(5, "Joanne", "jo@example.com");
+        user(4, "Zed", "anna@example.com");
+        user(3, "Mary Ann", "mary@example.com");
+        user(2, "Annabel Lee", "lee@example.com");
+        user(1, "Ann", "a1@example.com");
+
+        assertThat(index.search("ann", 10)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void matchesAnySubstringOfThreeOrMoreCharacters() {
+        user(1, "Alice Smith", "alice@example.com");
+        user(2, "Bob Jones", "bob@example.com");
+
+        assertThat(index.search("mit", 10)).containsExactly(1L);
+        assertThat(index.search("ONES", 10)).containsExactly(2L);
+        assertThat(index.search("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void shortQueriesMatchWordAndEmailPrefixes() {
+        user(1, "Alice Smith", "alice@example.com");
+        user(2, "Bob Jones", "bob@example.com");
+        user(3, "Carol", "sm@example.com");
+
+        assertThat(index.search("sm", 10)).containsExactlyInAnyOrder(1L, 3L);
+        // Short queries do not fall back to infix matching
+        assertThat(index.search("li", 10)).isEmpty();
+    }
+
+    @Test
+    void limitKeepsTheBestMatches() {
+        user(1, "Dana Longername", "d1@example.com");
+        user(2, "Dana", "d2@example.com");
+        user(3, "Dan", "d3@example.com");
+        user(4, "Danb", "d4@example.com");
+
+        // Exact match first, then prefix matches by shorter name, then by lower id
+        assertThat(index.search("dan", 2)).containsExactly(3L, 2L);
+        assertThat(index.search("dan", 4)).containsExactly(3L, 2L, 4L, 1L);
+    }
+
+    @Test
+    void renamingAUserDropsTheOldPostings() {
+        user(1, "Alice", "alice@example.com");
+        user(1, "Bob", "bob@example.com");
+
+        assertThat(index.search("ali", 10)).isEmpty();
+        assertThat(index.search("al", 10)).isEmpty();
+        assertThat(index.search("bob", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void blankQueriesAndLimitsReturnNothing() {
+        user(1, "Alice", "alice@example.com");
+
+        assertThat(index.search("  ", 10)).isEmpty();
+        assertThat(index.search(null, 10)).isEmpty();
+        assertThat(index.search("alice", 0)).isEmpty();
+    }
+
+    @Test
+    void missingNameOrEmailIsTolerated() {
+        user(1, null, "solo@example.com");
+        user(2, "No Email", null);
+
+        assertThat(index.search("solo", 10)).containsExactly(1L);
+        assertThat(index.search("email", 10)).containsExactly(2L);
+    }
+
+    private void user(long id, String name, String email) {
+        index.onUserChanged(new UserChangedEvent(id, name, email));
+    }
+}
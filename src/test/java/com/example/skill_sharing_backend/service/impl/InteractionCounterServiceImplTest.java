@@ -0,0 +1,244 @@
+package com.example.skill_sharing_backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.mockito.stubbing.Answer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.example.skill_sharing_backend.dto.PostFeedItem;
+import com.example.skill_sharing_backend.event.PostCountsChangedEvent;
+import com.example.skill_sharing_backend.model.PostInteraction.InteractionType;
+
+@ExtendWith(MockitoExtension.class)
+class InteractionCounterServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private InteractionCounterServiceImpl counters;
+
+    @Test
+    void flushWritesOneClampedRelativeUpdatePerPost() {
+        counters.record(1L, InteractionType.LIKE, 1);
+        counters.record(1L, InteractionType.LIKE, 1);
+        counters.record(1L, InteractionType.SHARE, 1);
+        counters.record(2L, InteractionType.FAVORITE, -1);
+
+        counters.flush();
+
+        List<Object[]> batch = captureFlush(1).get(0);
+        assertThat(batch).hasSize(2);
+        assertThat(batch).anySatisfy(row -> assertThat(row).containsExactly(2L, 0L, 1L, 1L));
+        assertThat(batch).anySatisfy(row -> assertThat(row).containsExactly(0L, -1L, 0L, 2L));
+        verify(eventPublisher, times(2)).publishEvent(any(PostCountsChangedEvent.class));
+    }
+
+    @Test
+    void flushClampsCountersAtZeroInTheDatabase() {
+        counters.record(1L, InteractionType.LIKE, -1);
+
+        counters.flush();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), anyList());
+        assertThat(sql.getValue())
+            .contains("like_count = GREATEST(COALESCE(like_count, 0) + ?, 0)")
+            .contains("favorite_count = GREATEST(COALESCE(favorite_count, 0) + ?, 0)")
+            .contains("share_count = GREATEST(COALESCE(share_count, 0) + ?, 0)");
+    }
+
+    @Test
+    void flushSkipsPostsWhoseDeltasCancelOut() {
+        counters.record(1L, InteractionType.LIKE, 1);
+        counters.record(1L, InteractionType.LIKE, -1);
+
+        counters.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void deltasRecordedAfterAFlushAreWrittenByTheNextOne() {
+        counters.record(1L, InteractionType.LIKE, 1);
+        counters.flush();
+        counters.record(1L, InteractionType.LIKE, 1);
+        counters.record(1L, InteractionType.FAVORITE, 1);
+        counters.flush();
+
+        List<List<Object[]>> batches = captureFlush(2);
+        assertThat(batches.get(0)).singleElement().satisfies(row -> assertThat(row).containsExactly(1L, 0L, 0L, 1L));
+        assertThat(batches.get(1)).singleElement().satisfies(row -> assertThat(row).containsExactly(1L, 1L, 0L, 1L));
+    }
+
+    @Test
+    void idlePostsAreDroppedAfterAnEmptyFlush() {
+        counters.record(1L, InteractionType.LIKE, 1);
+        counters.flush();
+        counters.flush();
+
+        List<PostFeedItem> posts = List.of(post(1L, 5));
+        assertThat(counters.withPendingCounts(posts)).isSameAs(posts);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForTheNextFlush() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new QueryTimeoutException("lock wait timeout"))
+            .thenReturn(new int[] {1});
+        counters.record(1L, InteractionType.LIKE, 3);
+
+        counters.flush();
+        counters.record(1L, InteractionType.LIKE, 1);
+        counters.flush();
+
+        List<List<Object[]>> batches = captureFlush(2);
+        assertThat(batches.get(1)).singleElement().satisfies(row -> assertThat(row).containsExactly(4L, 0L, 0L, 1L));
+        verify(eventPublisher, times(1)).publishEvent(any(PostCountsChangedEvent.class));
+    }
+
+    @Test
+    void concurrentFlushesNeitherLoseNorDoubleCountDeltas() throws Exception {
+        AtomicLong flushedLikes = new AtomicLong();
+        doAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batch.forEach(row -> flushedLikes.addAndGet((Long) row[0]));
+            return new int[batch.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        int writers = 4;
+        int likesPerWriter = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+        CountDownLatch done = new CountDownLatch(writers);
+        try {
+            for (int i = 0; i < writers; i++) {
+                pool.submit(() -> {
+                    for (int n = 0; n < likesPerWriter; n++) {
+                        counters.record(1L + n % 3, InteractionType.LIKE, 1);
+                    }
+                    done.countDown();
+                });
+            }
+            Future<?> flusher = pool.submit(() -> {
+                while (done.getCount() > 0) {
+                    counters.flush();
+                }
+            });
+            assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+            flusher.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        counters.flush();
+
+        assertThat(flushedLikes.get()).isEqualTo((long) writers * likesPerWriter);
+    }
+
+    @Test
+    void pendingCountsOverlayTheStoredOnesWithoutGoingNegative() {
+        counters.record(1L, InteractionType.LIKE, 2);
+        counters.record(2L, InteractionType.LIKE, -3);
+
+        List<PostFeedItem> adjusted = counters.withPendingCounts(List.of(post(1L, 5), post(2L, 1), post(3L, 7)));
+
+        assertThat(adjusted).extracting(PostFeedItem::likeCount).containsExactly(7, 0, 7);
+    }
+
+    @Test
+    void reconcileSubtractsDeltasStillBuffered() throws SQLException {
+        // The flush at the start of reconcile fails, so the two likes stay buffered
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE posts SET like_count = GREATEST"), anyList()))
+            .thenThrow(new QueryTimeoutException("lock wait timeout"));
+        counters.record(10L, InteractionType.LIKE, 2);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(0L))).thenReturn(List.of(10L));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(10L))).thenReturn(List.of());
+        // Seven likes exist in the tables, the post row says four
+        ResultSet likes = rowOf(10L, 7L);
+        ResultSet stored = rowOf(10L, 4L, 0L, 0L);
+        doAnswer(rows(likes)).when(jdbcTemplate)
+            .query(contains("UNION"), any(RowCallbackHandler.class), any(), any(), any(), any());
+        doAnswer(rows()).when(jdbcTemplate)
+            .query(contains("'FAVORITE', 'SHARE'"), any(RowCallbackHandler.class), any(), any());
+        doAnswer(rows(stored)).when(jdbcTemplate)
+            .query(startsWith("SELECT id, like_count"), any(RowCallbackHandler.class), any(), any());
+
+        counters.reconcile();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE posts SET like_count = ?, favorite_count = ?, share_count = ? WHERE id = ?"),
+            updates.capture());
+        // 7 actual minus 2 still buffered: the next flush brings it to 7
+        assertThat(updates.getValue()).singleElement().satisfies(row -> assertThat(row).containsExactly(5L, 0L, 0L, 10L));
+    }
+
+    private List<List<Object[]>> captureFlush(int times) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(times)).batchUpdate(startsWith("UPDATE posts SET"), batches.capture());
+        return batches.getAllValues();
+    }
+
+    private static Answer<Void> rows(ResultSet... rows) {
+        return invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        };
+    }
+
+    private static ResultSet rowOf(long... columns) throws SQLException {
+        // Lenient: reconcile reads only the columns it needs to spot a difference
+        ResultSet rs = mock(ResultSet.class, withSettings().strictness(Strictness.LENIENT));
+        for (int i = 0; i < columns.length; i++) {
+            when(rs.getLong(i + 1)).thenReturn(columns[i]);
+            when(rs.getObject(i + 1)).thenReturn(columns[i]);
+        }
+        return rs;
+    }
+
+    private static PostFeedItem post(Long id, int likes) {
+        return new PostFeedItem(id, "title", "description", LocalDateTime.now(), null, null, null, null,
+            likes, 0, 0, 0L, 1L, "author", null);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.skill_sharing_backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.skill_sharing_backend.dto.PostFeedItem;
+import com.example.skill_sharing_backend.event.PostChangedEvent;
+import com.example.skill_sharing_backend.graph.FollowGraphIndex;
+import com.example.skill_sharing_backend.pagination.CursorPage;
+import com.example.skill_sharing_backend.repository.PostRepository;
+import com.example.skill_sharing_backend.service.InteractionCounterService;
+import com.example.skill_sharing_backend.service.impl.TimelineServiceImpl.Timeline;
+
+class TimelineServiceImplTest {
+
+    @Nested
+    class TimelineArray {
+
+        @Test
+        void addKeepsIdsDescendingAndDistinct() {
+            Timeline timeline = new Timeline(10);
+            timeline.add(5);
+            timeline.add(9);
+            timeline.add(7);
+            timeline.add(9);
+
+            assertThat(timeline.page(Long.MAX_VALUE, 10)).containsExactly(9, 7, 5);
+        }
+
+        @Test
+        void aFullTimelineDropsItsOldestId() {
+            Timeline timeline = new Timeline(3);
+            timeline.load(List.of(30L, 20L, 10L));
+
+            timeline.add(40);
+            assertThat(timeline.page(Long.MAX_VALUE, 10)).containsExactly(40, 30, 20);
+
+            // Older than everything kept, so there is no room for it
+            timeline.add(5);
+            assertThat(timeline.page(Long.MAX_VALUE, 10)).containsExactly(40, 30, 20);
+
+            timeline.add(25);
+            assertThat(timeline.page(Long.MAX_VALUE, 10)).containsExactly(40, 30, 25);
+        }
+
+        @Test
+        void pageStartsStrictlyBelowTheCursorId() {
+            Timeline timeline = new Timeline(10);
+            timeline.load(List.of(50L, 40L, 30L, 20L, 10L));
+
+            assertThat(timeline.page(Long.MAX_VALUE, 2)).containsExactly(50, 40);
+            assertThat(timeline.page(40, 2)).containsExactly(30, 20);
+            // A cursor id that has since been deleted still positions the page
+            assertThat(timeline.page(35, 10)).containsExactly(30, 20, 10);
+            assertThat(timeline.page(10, 10)).isEmpty();
+        }
+
+        @Test
+        void loadTruncatesToCapacity() {
+            Timeline timeline = new Timeline(2);
+            timeline.load(List.of(3L, 2L, 1L));
+
+            assertThat(timeline.page(Long.MAX_VALUE, 10)).containsExactly(3, 2);
+        }
+
+        @Test
+        void removeClosesTheGap() {
+            Timeline timeline = new Timeline(10);
+            timeline.load(List.of(30L, 20L, 10L));
+
+            timeline.remove(20);
+            timeline.remove(99);
+
+            assertThat(timeline.page(Long.MAX_VALUE, 10)).containsExactly(30, 10);
+            timeline.add(20);
+            assertThat(timeline.page(Long.MAX_VALUE, 10)).containsExactly(30, 20, 10);
+        }
+    }
+
+    @Nested
+    @ExtendWith(MockitoExtension.class)
+    class HomeTimeline {
+
+        @Mock
+        private JdbcTemplate jdbcTemplate;
+
+        @Mock
+        private PostRepository postRepository;
+
+        @Mock
+        private InteractionCounterService interactionCounterService;
+
+        @Mock
+        private FollowGraphIndex followGraphIndex;
+
+        @InjectMocks
+        private TimelineServiceImpl service;
+
+        private final Set<Long> deleted = new HashSet<>();
+
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(service, "maxSize", 800);
+            ReflectionTestUtils.setField(service, "maxUsers", 100L);
+            ReflectionTestUtils.setField(service, "idleExpiry", Duration.ofHours(1));
+            ReflectionTestUtils.setField(service, "celebrityThreshold", 10_000);
+            service.init();
+
+            // Posts 1..10 on user 1's timeline, no celebrity accounts followed
+            when(jdbcTemplate.queryForList(contains("ORDER BY p.id DESC LIMIT 800"), eq(Long.class),
+                    any(), any(), any(), any()))
+                .thenReturn(LongStream.rangeClosed(1, 10).map(i -> 11 - i).boxed().toList());
+            when(jdbcTemplate.queryForList(contains("u.followers_count >= ?"), eq(Long.class),
+                    any(), any(), any(), any()))
+                .thenReturn(List.of());
+            when(postRepository.findFeedItemsByIdIn(anyCollection())).thenAnswer(invocation -> {
+                Collection<Long> ids = invocation.getArgument(0);
+                return ids.stream().filter(id -> !deleted.contains(id)).map(HomeTimeline::post).toList();
+            });
+            when(interactionCounterService.withPendingCounts(anyList())).then(returnsFirstArg());
+        }
+
+        @Test
+        void rowsDeletedBehindTheTimelineAreReplacedSoThePageStaysFull() {
+            deleted.addAll(List.of(9L, 8L, 6L));
+
+            CursorPage<PostFeedItem> page = service.getHomeTimeline(1L, null, 3);
+
+            assertThat(page.getItems()).extracting(PostFeedItem::id).containsExactly(10L, 7L, 5L);
+            assertThat(page.getNextCursor()).isNotNull();
+        }
+
+        @Test
+        void theLastPageHasNoCursorEvenWhenRowsWereDropped() {
+            deleted.addAll(List.of(2L, 1L));
+
+            CursorPage<PostFeedItem> page = service.getHomeTimeline(1L, null, 8);
+
+            assertThat(page.getItems()).extracting(PostFeedItem::id).containsExactly(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L);
+            assertThat(page.getNextCursor()).isNull();
+        }
+
+        @Test
+        void aDeletedPostLeavesCachedTimelines() {
+            service.getHomeTimeline(1L, null, 3);
+
+            // The repository still returns the row, so only the event can take it out
+            service.onPostChanged(new PostChangedEvent(10L, 2L, PostChangedEvent.Type.DELETED));
+
+            assertThat(service.getHomeTimeline(1L, null, 3).getItems())
+                .extracting(PostFeedItem::id).containsExactly(9L, 8L, 7L);
+        }
+
+        private static PostFeedItem post(Long id) {
+            return new PostFeedItem(id, "title", "description", LocalDateTime.of(2026, 1, 1, 0, 0).plusMinutes(id),
+                null, null, null, null, 0, 0, 0, 0L, 2L, "author", null);
+        }
+    }
+}